@@ -0,0 +1,73 @@
+package ru.practicum.shareit.bench;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemWithBookingInfoDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonBenchmark {
+    @Param({"10", "100"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<BookingDto> bookings;
+    private List<ItemWithBookingInfoDto> items;
+
+    @Setup
+    public void setUp() {
+        // Same builder defaults the server's HTTP message converters start from
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        User owner = new User(1L, "Owner", "owner@example.com");
+        User booker = new User(2L, "Booker", "booker@example.com");
+        LocalDateTime now = LocalDateTime.now();
+        List<CommentDto> comments = List.of(new CommentDto(1L, "Worked great", "Booker", now));
+        bookings = new ArrayList<>(size);
+        items = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            Item item = new Item(i, "Item " + i, "Description of item " + i, true, owner, null, null);
+            bookings.add(BookingMapper.toBookingDto(
+                    new Booking(i, now.plusDays(i), now.plusDays(i + 1), item, booker, Status.WAITING)));
+            items.add(ItemMapper.toItemWithBookingInfoDto(item, comments));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeBookings() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] serializeItemsWithBookingInfo() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(items);
+    }
+}
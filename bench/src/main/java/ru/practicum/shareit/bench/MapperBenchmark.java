@@ -0,0 +1,72 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemWithBookingInfoDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private Item item;
+    private Booking booking;
+    private Comment comment;
+    private List<CommentDto> comments;
+
+    @Setup
+    public void setUp() {
+        User owner = new User(1L, "Owner", "owner@example.com");
+        User booker = new User(2L, "Booker", "booker@example.com");
+        item = new Item(1L, "Cordless drill", "18V drill with two batteries", true, owner, null, null);
+        LocalDateTime now = LocalDateTime.now();
+        booking = new Booking(1L, now.plusDays(1), now.plusDays(2), item, booker, Status.APPROVED);
+        comment = new Comment(1L, "Worked great", item, booker, now);
+        comments = List.of(CommentMapper.toDtoResponse(comment), CommentMapper.toDtoResponse(comment));
+    }
+
+    @Benchmark
+    public ItemDto itemToDto() {
+        return ItemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public ItemWithBookingInfoDto itemToBookingInfoDto() {
+        return ItemMapper.toItemWithBookingInfoDto(item, comments);
+    }
+
+    @Benchmark
+    public BookingDto bookingToDto() {
+        return BookingMapper.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public CommentDto commentToDto() {
+        return CommentMapper.toDtoResponse(comment);
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.bench;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemWithBookingInfoDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.RequestService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The service call behind each cached read endpoint, with the second-level and query caches on and
+ * off. JDBC statements per call are printed at the end of each trial from Hibernate's statistics,
+ * which shows the database round trips the caches remove.
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecondLevelCacheBenchmark {
+    @Param({"true", "false"})
+    private boolean cache;
+
+    private ConfigurableApplicationContext context;
+    private Statistics statistics;
+    private ItemService itemService;
+    private UserService userService;
+    private RequestService requestService;
+    private BookingService bookingService;
+    private User owner;
+    private User booker;
+    private Item item;
+    private ItemRequest request;
+    private Booking booking;
+    private long calls;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:cache-bench;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cache,
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=" + cache);
+        itemService = context.getBean(ItemService.class);
+        userService = context.getBean(UserService.class);
+        requestService = context.getBean(RequestService.class);
+        bookingService = context.getBean(BookingService.class);
+        seed();
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(BenchmarkParams params) {
+        System.out.printf("%n%s cache=%s: %.2f statements/call, L2 hits %d, misses %d, query cache hits %d%n",
+                params.getBenchmark(), cache, (double) statistics.getPrepareStatementCount() / Math.max(calls, 1),
+                statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount(),
+                statistics.getQueryCacheHitCount());
+        context.close();
+    }
+
+    // GET /items/{itemId}
+    @Benchmark
+    public ItemWithBookingInfoDto itemDetail() {
+        calls++;
+        return itemService.getById(item.getId());
+    }
+
+    // GET /users/{id}
+    @Benchmark
+    public User userDetail() {
+        calls++;
+        return userService.getById(owner.getId());
+    }
+
+    // GET /requests/{requestId}
+    @Benchmark
+    public ItemRequestDto requestDetail() {
+        calls++;
+        return requestService.getById(request.getId(), booker.getId());
+    }
+
+    // GET /requests
+    @Benchmark
+    public List<ItemRequest> userRequests() {
+        calls++;
+        return requestService.getAllByUserId(booker.getId());
+    }
+
+    // GET /bookings/{bookingId}: the booking itself is not cached, its item and users are
+    @Benchmark
+    public Booking bookingDetail() {
+        calls++;
+        return bookingService.getBooking(booking.getId(), booker.getId());
+    }
+
+    private void seed() {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        owner = userRepository.save(new User(null, "Owner", "owner@example.com"));
+        booker = userRepository.save(new User(null, "Booker", "booker@example.com"));
+        request = context.getBean(ItemRequestRepository.class)
+                .save(new ItemRequest(null, "Need a drill", booker, LocalDateTime.now().minusDays(1)));
+        item = context.getBean(ItemRepository.class)
+                .save(new Item(null, "Drill", "Hammer drill", true, owner, null, request));
+        LocalDateTime now = LocalDateTime.now();
+        booking = context.getBean(BookingRepository.class)
+                .save(new Booking(null, now.plusDays(1), now.plusDays(2), item, booker, Status.WAITING));
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service calls against the server's H2 (test) profile, seeded with {@code users} users owning ten
+ * items each and two bookings per item.
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    @Param({"100", "1000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+    private UserService userService;
+    private User owner;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1");
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+        userService = context.getBean(UserService.class);
+        seed(context.getBean(UserRepository.class), context.getBean(ItemRepository.class),
+                context.getBean(BookingRepository.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItems() {
+        return itemService.searchItems("drill", 0, 20);
+    }
+
+    @Benchmark
+    public List<Booking> getAllBookingsOfUserItems() {
+        return bookingService.getAllBookingsOfUserItems(owner.getId(), State.ALL, 0, 20);
+    }
+
+    // Re-submitting the current email runs validateEmailUnique without changing any row
+    @Benchmark
+    public User validateEmailUnique() {
+        return userService.update(new User(null, null, owner.getEmail()), owner.getId());
+    }
+
+    private void seed(UserRepository userRepository, ItemRepository itemRepository,
+                      BookingRepository bookingRepository) {
+        List<User> savedUsers = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            savedUsers.add(new User(null, "User " + i, "user" + i + "@example.com"));
+        }
+        savedUsers = userRepository.saveAll(savedUsers);
+        owner = savedUsers.get(0);
+
+        List<Item> items = new ArrayList<>(users * 10);
+        for (User user : savedUsers) {
+            for (int i = 0; i < 10; i++) {
+                String name = i % 3 == 0 ? "Drill " + i : "Ladder " + i;
+                items.add(new Item(null, name, "Item " + i + " of " + user.getName(), true, user, null, null));
+            }
+        }
+        items = itemRepository.saveAll(items);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = new ArrayList<>(items.size() * 2);
+        for (int i = 0; i < items.size(); i++) {
+            User booker = savedUsers.get((i + 1) % savedUsers.size());
+            bookings.add(new Booking(null, now.minusDays(10), now.minusDays(9), items.get(i), booker, Status.APPROVED));
+            bookings.add(new Booking(null, now.plusDays(1), now.plusDays(2), items.get(i), booker, Status.WAITING));
+        }
+        bookingRepository.saveAll(bookings);
+    }
+}
@@ -0,0 +1,4 @@
+package ru.practicum.shareit.bench.jmh_generated;
+public class SecondLevelCacheBenchmark_jmhType extends SecondLevelCacheBenchmark_jmhType_B3 {
+}
+
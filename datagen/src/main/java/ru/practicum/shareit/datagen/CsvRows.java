@@ -0,0 +1,33 @@
+package ru.practicum.shareit.datagen;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * CSV encoding shared by the COPY and H2 CSVREAD sinks.
+ */
+final class CsvRows {
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private CsvRows() {
+    }
+
+    static void append(StringBuilder out, String nullToken, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            Object value = values[i];
+            if (value == null) {
+                out.append(nullToken);
+            } else if (value instanceof String text) {
+                out.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else if (value instanceof LocalDateTime timestamp) {
+                TIMESTAMP.formatTo(timestamp, out);
+            } else {
+                out.append(value);
+            }
+        }
+        out.append('\n');
+    }
+}
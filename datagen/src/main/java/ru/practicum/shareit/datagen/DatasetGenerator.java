@@ -0,0 +1,206 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the server schema (created beforehand, e.g. by starting the server once) with a large,
+ * deterministic dataset: a few owners hold most items, a few items get most bookings, bookings span
+ * several years and some finished ones carry comments. The same seed and counts always produce the
+ * same rows, so perf runs can be repeated and compared.
+ */
+@Slf4j
+public class DatasetGenerator {
+    private static final List<String> FIRST_NAMES = List.of("Anna", "Boris", "Daria", "Egor", "Irina", "Maxim",
+            "Olga", "Pavel", "Sofia", "Timur", "Vera", "Yuri");
+    private static final List<String> LAST_NAMES = List.of("Ivanov", "Petrova", "Smirnov", "Kuznetsova", "Popov",
+            "Sokolova", "Lebedev", "Kozlova", "Novikov", "Morozova");
+    private static final List<String> THINGS = List.of("drill", "ladder", "saw", "tent", "bike", "kayak", "projector",
+            "mixer", "camera", "tripod", "sleeping bag", "lawn mower", "pressure washer", "snowboard", "guitar");
+    private static final List<String> ADJECTIVES = List.of("cordless", "compact", "heavy-duty", "folding", "vintage",
+            "portable", "professional", "lightweight", "electric", "waterproof");
+    private static final long PRIME = 2_147_483_647L;
+    private static final int LOG_EVERY = 5_000_000;
+
+    private final GeneratorOptions options;
+    private final LocalDateTime now;
+    private final LocalDateTime since;
+
+    public DatasetGenerator(GeneratorOptions options) {
+        this.options = options;
+        this.now = options.getReferenceDate().atStartOfDay();
+        this.since = now.minusYears(options.getYears());
+    }
+
+    public static void main(String[] args) throws SQLException {
+        GeneratorOptions options = GeneratorOptions.parse(args);
+        try (Connection connection = DriverManager.getConnection(options.getUrl(), options.getUsername(),
+                options.getPassword())) {
+            new DatasetGenerator(options).generate(connection);
+        }
+    }
+
+    public void generate(Connection connection) throws SQLException {
+        RowSink sink = switch (options.getMode()) {
+            case COPY -> new PostgresCopySink(connection);
+            case BATCH -> new JdbcBatchSink(connection, options.getBatchSize());
+            case CSV -> new H2CsvSink(connection);
+        };
+        log.info("Loading with {} into {}", options.getMode(), options.getUrl());
+        long started = System.nanoTime();
+        users(sink);
+        requests(sink);
+        items(sink);
+        bookings(sink);
+        long comments = comments(sink);
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+        restartIdentities(connection, comments);
+        log.info("Done in {} s", (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    private void users(RowSink sink) throws SQLException {
+        SplittableRandom random = new SplittableRandom(options.getSeed() ^ 0x75736572L);
+        sink.begin("users", "id", "name", "email");
+        for (long id = 1; id <= options.getUsers(); id++) {
+            sink.row(id, pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES), "user" + id + "@example.com");
+            progress("users", id);
+        }
+        sink.end();
+    }
+
+    private void requests(RowSink sink) throws SQLException {
+        SplittableRandom random = new SplittableRandom(options.getSeed() ^ 0x72657175L);
+        sink.begin("item_requests", "id", "description", "requestor", "created");
+        for (long id = 1; id <= options.getRequests(); id++) {
+            sink.row(id, "Looking for a " + pick(random, ADJECTIVES) + " " + pick(random, THINGS),
+                    1 + random.nextLong(options.getUsers()), randomTime(random, since, now));
+            progress("item_requests", id);
+        }
+        sink.end();
+    }
+
+    private void items(RowSink sink) throws SQLException {
+        SplittableRandom random = new SplittableRandom(options.getSeed() ^ 0x6974656dL);
+        sink.begin("items", "id", "name", "description", "available", "owner_id", "request_id");
+        for (long id = 1; id <= options.getItems(); id++) {
+            String thing = pick(random, THINGS);
+            Long requestId = options.getRequests() > 0 && random.nextDouble() < options.getRequestedItemRate()
+                    ? 1 + random.nextLong(options.getRequests())
+                    : null;
+            sink.row(id, capitalize(pick(random, ADJECTIVES)) + " " + thing, "A " + thing + " in good condition",
+                    random.nextDouble() < 0.9, 1 + skewed(random, options.getUsers(), 3.0), requestId);
+            progress("items", id);
+        }
+        sink.end();
+    }
+
+    private void bookings(RowSink sink) throws SQLException {
+        sink.begin("bookings", "id", "start_date", "end_date", "item_id", "booker_id", "status");
+        forEachBooking((id, booking) -> {
+            sink.row(id, booking.start, booking.end, booking.itemId, booking.bookerId, booking.status);
+            progress("bookings", id);
+        });
+        sink.end();
+    }
+
+    // Replays the booking sequence from the same seed rather than holding 50M bookings in memory
+    private long comments(RowSink sink) throws SQLException {
+        SplittableRandom random = new SplittableRandom(options.getSeed() ^ 0x636f6d6dL);
+        long[] nextId = {1};
+        sink.begin("comments", "id", "text", "item_id", "author_id", "created");
+        forEachBooking((id, booking) -> {
+            if ("APPROVED".equals(booking.status) && booking.end.isBefore(now)
+                    && random.nextDouble() < options.getCommentRate()) {
+                sink.row(nextId[0], "Rated " + (1 + random.nextInt(10)) + "/10, " + pick(random, ADJECTIVES)
+                        + " and as described", booking.itemId, booking.bookerId, booking.end.plusHours(1 + random.nextInt(72)));
+                progress("comments", nextId[0]++);
+            }
+        });
+        sink.end();
+        return nextId[0] - 1;
+    }
+
+    private void forEachBooking(BookingConsumer consumer) throws SQLException {
+        SplittableRandom random = new SplittableRandom(options.getSeed() ^ 0x626f6f6bL);
+        LocalDateTime latestStart = now.plusDays(90);
+        Booking booking = new Booking();
+        for (long id = 1; id <= options.getBookings(); id++) {
+            booking.start = randomTime(random, since, latestStart);
+            booking.end = booking.start.plusHours(4 + random.nextInt(24 * 14));
+            booking.itemId = 1 + skewed(random, options.getItems(), 2.5);
+            booking.bookerId = 1 + random.nextLong(options.getUsers());
+            double roll = random.nextDouble();
+            if (booking.end.isBefore(now)) {
+                booking.status = roll < 0.85 ? "APPROVED" : roll < 0.93 ? "REJECTED" : "CANCELED";
+            } else {
+                booking.status = roll < 0.5 ? "WAITING" : roll < 0.95 ? "APPROVED" : "REJECTED";
+            }
+            consumer.accept(id, booking);
+        }
+    }
+
+    private void restartIdentities(Connection connection, long comments) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE users ALTER COLUMN id RESTART WITH " + (options.getUsers() + 1));
+            statement.execute("ALTER TABLE item_requests ALTER COLUMN id RESTART WITH " + (options.getRequests() + 1));
+            statement.execute("ALTER TABLE items ALTER COLUMN id RESTART WITH " + (options.getItems() + 1));
+            statement.execute("ALTER TABLE bookings ALTER COLUMN id RESTART WITH " + (options.getBookings() + 1));
+            statement.execute("ALTER TABLE comments ALTER COLUMN id RESTART WITH " + (comments + 1));
+            if (options.getMode() == GeneratorOptions.LoadMode.COPY) {
+                statement.execute("ANALYZE");
+            }
+        }
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+    }
+
+    // Power-law pick in [0, n): low indexes dominate, then the index is scattered over the id range
+    // so the popular rows are not all at the start of the table
+    private static long skewed(SplittableRandom random, long n, double exponent) {
+        long index = Math.min(n - 1, (long) (n * Math.pow(random.nextDouble(), exponent)));
+        return n == PRIME ? index : index * PRIME % n;
+    }
+
+    private static LocalDateTime randomTime(SplittableRandom random, LocalDateTime from, LocalDateTime to) {
+        long minutes = Duration.between(from, to).toMinutes();
+        return from.plusMinutes(random.nextLong(minutes));
+    }
+
+    private static String pick(SplittableRandom random, List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static void progress(String table, long rows) {
+        if (rows % LOG_EVERY == 0) {
+            log.info("{}: {} rows", table, rows);
+        }
+    }
+
+    private static class Booking {
+        LocalDateTime start;
+        LocalDateTime end;
+        long itemId;
+        long bookerId;
+        String status;
+    }
+
+    @FunctionalInterface
+    private interface BookingConsumer {
+        void accept(long id, Booking booking) throws SQLException;
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options in --name=value form. Row counts accept underscores, e.g. --bookings=50_000_000.
+ * Bookings are placed around --reference-date (today by default); pin it to reproduce a dataset exactly.
+ */
+@Getter
+public class GeneratorOptions {
+    private final String url;
+    private final String username;
+    private final String password;
+    private final LoadMode mode;
+    private final long seed;
+    private final long users;
+    private final long requests;
+    private final long items;
+    private final long bookings;
+    private final double commentRate;
+    private final double requestedItemRate;
+    private final int years;
+    private final LocalDate referenceDate;
+    private final int batchSize;
+
+    private GeneratorOptions(Map<String, String> values) {
+        url = values.getOrDefault("url", "jdbc:postgresql://localhost:5432/shareitdb");
+        username = values.getOrDefault("username", "sa");
+        password = values.getOrDefault("password", "12345");
+        mode = values.containsKey("mode") ? LoadMode.valueOf(values.get("mode").toUpperCase()) : LoadMode.forUrl(url);
+        seed = Long.parseLong(values.getOrDefault("seed", "42"));
+        users = count(values, "users", 1_000_000);
+        requests = count(values, "requests", 200_000);
+        items = count(values, "items", 5_000_000);
+        bookings = count(values, "bookings", 50_000_000);
+        commentRate = Double.parseDouble(values.getOrDefault("comment-rate", "0.1"));
+        requestedItemRate = Double.parseDouble(values.getOrDefault("requested-item-rate", "0.05"));
+        years = Integer.parseInt(values.getOrDefault("years", "3"));
+        referenceDate = values.containsKey("reference-date")
+                ? LocalDate.parse(values.get("reference-date"))
+                : LocalDate.now();
+        batchSize = Integer.parseInt(values.getOrDefault("batch-size", "10000"));
+    }
+
+    public static GeneratorOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new GeneratorOptions(values);
+    }
+
+    private static long count(Map<String, String> values, String name, long defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Long.parseLong(value.replace("_", ""));
+    }
+
+    public enum LoadMode {
+        COPY,
+        BATCH,
+        CSV;
+
+        static LoadMode forUrl(String url) {
+            if (url.startsWith("jdbc:postgresql:")) {
+                return COPY;
+            }
+            return url.startsWith("jdbc:h2:") ? CSV : BATCH;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.datagen;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Writes each table to a temporary CSV file and imports it with one INSERT ... SELECT FROM CSVREAD,
+ * which H2 runs far faster than row-by-row inserts.
+ */
+public class H2CsvSink implements RowSink {
+    private static final String NULL_TOKEN = "NULL";
+
+    private final Connection connection;
+    private final StringBuilder line = new StringBuilder(256);
+    private String table;
+    private String[] columns;
+    private Path file;
+    private BufferedWriter writer;
+
+    public H2CsvSink(Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public void begin(String table, String... columns) {
+        this.table = table;
+        this.columns = columns;
+        try {
+            file = Files.createTempFile("shareit-" + table, ".csv");
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            writer.write(String.join(",", columns));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void row(Object... values) {
+        line.setLength(0);
+        CsvRows.append(line, NULL_TOKEN, values);
+        try {
+            writer.append(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void end() throws SQLException {
+        try {
+            writer.close();
+            String columnList = String.join(", ", columns);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("INSERT INTO " + table + " (" + columnList + ") SELECT " + columnList
+                        + " FROM CSVREAD('" + file.toAbsolutePath() + "', NULL, 'charset=UTF-8 null=" + NULL_TOKEN + "')");
+            }
+            Files.delete(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
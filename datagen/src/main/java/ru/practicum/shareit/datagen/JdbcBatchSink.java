@@ -0,0 +1,59 @@
+package ru.practicum.shareit.datagen;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+/**
+ * Portable fallback: batched INSERTs committed every batch. On Postgres add reWriteBatchedInserts=true
+ * to the URL so the driver folds each batch into multi-row statements.
+ */
+public class JdbcBatchSink implements RowSink {
+    private final Connection connection;
+    private final int batchSize;
+    private PreparedStatement statement;
+    private int pending;
+
+    public JdbcBatchSink(Connection connection, int batchSize) throws SQLException {
+        this.connection = connection;
+        this.batchSize = batchSize;
+        connection.setAutoCommit(false);
+    }
+
+    @Override
+    public void begin(String table, String... columns) throws SQLException {
+        String placeholders = String.join(", ", Collections.nCopies(columns.length, "?"));
+        statement = connection.prepareStatement(
+                "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES (" + placeholders + ")");
+    }
+
+    @Override
+    public void row(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            statement.setObject(i + 1, value instanceof LocalDateTime timestamp ? Timestamp.valueOf(timestamp) : value);
+        }
+        statement.addBatch();
+        if (++pending >= batchSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void end() throws SQLException {
+        flush();
+        statement.close();
+        statement = null;
+    }
+
+    private void flush() throws SQLException {
+        if (pending > 0) {
+            statement.executeBatch();
+            connection.commit();
+            pending = 0;
+        }
+    }
+}
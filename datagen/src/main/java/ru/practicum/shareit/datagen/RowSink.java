@@ -0,0 +1,16 @@
+package ru.practicum.shareit.datagen;
+
+import java.sql.SQLException;
+
+/**
+ * Bulk-load target for one table at a time. Values are String, Long, Boolean or LocalDateTime; null is
+ * allowed.
+ */
+public interface RowSink {
+
+    void begin(String table, String... columns) throws SQLException;
+
+    void row(Object... values) throws SQLException;
+
+    void end() throws SQLException;
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.balancer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Consistent-hash ring with bounded loads: a key goes to the first instance clockwise from its hash
+ * that is available and has no more than (1 + epsilon) times the average number of in-flight calls.
+ */
+class HashRing {
+    private final long[] points;
+    private final ServerInstance[] owners;
+    private final List<ServerInstance> instances;
+    private final double loadFactor;
+
+    HashRing(List<ServerInstance> instances, int virtualNodes, double loadFactor) {
+        this.instances = instances;
+        this.loadFactor = loadFactor;
+        int size = instances.size() * virtualNodes;
+        long[][] entries = new long[size][2];
+        int n = 0;
+        for (int i = 0; i < instances.size(); i++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                entries[n][0] = hash(instances.get(i).getBaseUri() + "#" + v);
+                entries[n][1] = i;
+                n++;
+            }
+        }
+        Arrays.sort(entries, (a, b) -> Long.compare(a[0], b[0]));
+        points = new long[size];
+        owners = new ServerInstance[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = entries[i][0];
+            owners[i] = instances.get((int) entries[i][1]);
+        }
+    }
+
+    ServerInstance choose(String key) {
+        int total = 0;
+        int available = 0;
+        for (ServerInstance instance : instances) {
+            if (instance.isAvailable()) {
+                total += instance.getOutstanding();
+                available++;
+            }
+        }
+        if (available == 0) {
+            return null;
+        }
+        // +1 counts the call being routed, so an idle cluster never rejects the owner
+        int capacity = (int) Math.ceil(loadFactor * (total + 1) / available);
+        int start = Arrays.binarySearch(points, hash(key));
+        if (start < 0) {
+            start = -start - 1;
+        }
+        ServerInstance fallback = null;
+        for (int i = 0; i < points.length; i++) {
+            ServerInstance owner = owners[(start + i) % points.length];
+            if (!owner.isAvailable()) {
+                continue;
+            }
+            if (owner.getOutstanding() < capacity) {
+                return owner;
+            }
+            if (fallback == null) {
+                fallback = owner;
+            }
+        }
+        return fallback;
+    }
+
+    // FNV-1a followed by a SplitMix64 finalizer so nearby keys ("1", "2", ...) spread over the ring
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.balancer;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+
+class InstanceRequest extends HttpRequestWrapper {
+    private final URI uri;
+
+    InstanceRequest(HttpRequest request, URI uri) {
+        super(request);
+        this.uri = uri;
+    }
+
+    @Override
+    public URI getURI() {
+        return uri;
+    }
+
+    static URI rewrite(URI uri, URI instance) {
+        return UriComponentsBuilder.fromUri(uri)
+                .scheme(instance.getScheme())
+                .host(instance.getHost())
+                .port(instance.getPort())
+                .build(true)
+                .toUri();
+    }
+}
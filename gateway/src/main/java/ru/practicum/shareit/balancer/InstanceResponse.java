@@ -0,0 +1,52 @@
+package ru.practicum.shareit.balancer;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Keeps the call counted as outstanding on its instance until the body is closed, not just until the headers arrive
+class InstanceResponse implements ClientHttpResponse {
+    private final ClientHttpResponse response;
+    private final ServerInstance instance;
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    InstanceResponse(ClientHttpResponse response, ServerInstance instance) {
+        this.response = response;
+        this.instance = instance;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+        return response.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return response.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return response.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        return response.getBody();
+    }
+
+    @Override
+    public void close() {
+        try {
+            response.close();
+        } finally {
+            if (finished.compareAndSet(false, true)) {
+                instance.finish();
+            }
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package ru.practicum.shareit.balancer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Spreads server calls over the configured instances. Requests are built against
+ * shareit-server.url and the interceptor swaps in the chosen instance.
+ */
+@Slf4j
+@Component
+@EnableScheduling
+@EnableConfigurationProperties(LoadBalancerProperties.class)
+public class LoadBalancer implements ClientHttpRequestInterceptor {
+    // Set on the threads sending the attempts of a hedged read
+    private static final ThreadLocal<Attempt> ATTEMPT = new ThreadLocal<>();
+    private static final Pattern ITEM_PATH = Pattern.compile(".*/items/(\\d+)");
+
+    private final LoadBalancerProperties properties;
+    private final List<ServerInstance> instances;
+    private final RestTemplate healthClient;
+    private final HashRing hashRing;
+    private final ExecutorService healthExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public LoadBalancer(@Value("${shareit-server.url}") String serverUrl, LoadBalancerProperties properties,
+                        RestTemplateBuilder builder, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        List<URI> uris = properties.getInstances().isEmpty() ? List.of(URI.create(serverUrl)) : properties.getInstances();
+        this.instances = uris.stream().map(ServerInstance::new).toList();
+        this.hashRing = new HashRing(instances, properties.getVirtualNodes(), properties.getHashLoadFactor());
+        for (ServerInstance instance : instances) {
+            Gauge.builder("gateway.balancer.outstanding", instance, ServerInstance::getOutstanding)
+                    .tag("instance", instance.getBaseUri().toString())
+                    .register(meterRegistry);
+            Gauge.builder("gateway.balancer.available", instance, i -> i.isAvailable() ? 1 : 0)
+                    .tag("instance", instance.getBaseUri().toString())
+                    .register(meterRegistry);
+        }
+        this.healthClient = builder
+                .setConnectTimeout(properties.getHealthTimeout())
+                .setReadTimeout(properties.getHealthTimeout())
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return instances.size() > 1;
+    }
+
+    public List<ServerInstance> getInstances() {
+        return instances;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Attempt attempt = ATTEMPT.get();
+        ServerInstance instance;
+        if (attempt != null && attempt.hedge()) {
+            instance = hedgeTarget(attempt.call().primary);
+        } else {
+            instance = choose(affinityKey(request));
+            if (attempt != null) {
+                attempt.call().primary = instance;
+            }
+        }
+        URI target = InstanceRequest.rewrite(request.getURI(), instance.getBaseUri());
+        instance.start();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(new InstanceRequest(request, target), body);
+        } catch (IOException | RuntimeException e) {
+            instance.onFailure(properties.getEjectAfterFailures(), properties.getEjectionDuration().toNanos());
+            instance.finish();
+            throw e;
+        }
+        // From here the instance is released when the caller closes the response
+        ClientHttpResponse counted = new InstanceResponse(response, instance);
+        try {
+            if (counted.getStatusCode().is5xxServerError()) {
+                instance.onFailure(properties.getEjectAfterFailures(), properties.getEjectionDuration().toNanos());
+            } else {
+                instance.onSuccess();
+            }
+            return counted;
+        } catch (IOException | RuntimeException e) {
+            instance.onFailure(properties.getEjectAfterFailures(), properties.getEjectionDuration().toNanos());
+            counted.close();
+            throw e;
+        }
+    }
+
+    ServerInstance choose(@Nullable String affinityKey) {
+        if (affinityKey != null && properties.getStrategy() == LoadBalancerProperties.Strategy.CONSISTENT_HASH) {
+            ServerInstance owner = hashRing.choose(affinityKey);
+            if (owner != null) {
+                return owner;
+            }
+        }
+        List<ServerInstance> candidates = available();
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        if (properties.getStrategy() == LoadBalancerProperties.Strategy.POWER_OF_TWO_CHOICES) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int first = random.nextInt(candidates.size());
+            int second = random.nextInt(candidates.size() - 1);
+            if (second >= first) {
+                second++;
+            }
+            ServerInstance a = candidates.get(first);
+            ServerInstance b = candidates.get(second);
+            return a.getOutstanding() <= b.getOutstanding() ? a : b;
+        }
+        return leastOutstanding(candidates);
+    }
+
+    // A hedge skips affinity and goes to the least busy instance other than the one holding the first attempt
+    private ServerInstance hedgeTarget(@Nullable ServerInstance primary) {
+        List<ServerInstance> candidates = new ArrayList<>(available());
+        candidates.remove(primary);
+        if (candidates.isEmpty()) {
+            candidates = new ArrayList<>(instances);
+            candidates.remove(primary);
+        }
+        return leastOutstanding(candidates.isEmpty() ? instances : candidates);
+    }
+
+    private static ServerInstance leastOutstanding(List<ServerInstance> candidates) {
+        ServerInstance best = candidates.get(0);
+        for (ServerInstance instance : candidates) {
+            if (instance.getOutstanding() < best.getOutstanding()) {
+                best = instance;
+            }
+        }
+        return best;
+    }
+
+    private List<ServerInstance> available() {
+        List<ServerInstance> candidates = new ArrayList<>(instances.size());
+        for (ServerInstance instance : instances) {
+            if (instance.isAvailable()) {
+                candidates.add(instance);
+            }
+        }
+        // Better to try a suspect instance than to fail every request
+        return candidates.isEmpty() ? instances : candidates;
+    }
+
+    // Item details are shared by all users, so they hash on the item; everything else hashes on the user
+    @Nullable
+    static String affinityKey(HttpRequest request) {
+        Matcher item = ITEM_PATH.matcher(request.getURI().getRawPath());
+        if (item.matches()) {
+            return "item:" + item.group(1);
+        }
+        String userId = request.getHeaders().getFirst("X-Sharer-User-Id");
+        return userId != null ? "user:" + userId : null;
+    }
+
+    // Instances are polled at once, so one hanging instance does not delay marking the others
+    @Scheduled(fixedDelayString = "${shareit-server.balancer.health-check-interval-ms:5000}")
+    public void checkHealth() {
+        if (!isEnabled()) {
+            return;
+        }
+        List<Callable<Boolean>> polls = instances.stream()
+                .<Callable<Boolean>>map(instance -> () -> poll(instance))
+                .toList();
+        // Connect and read timeouts each apply, so a poll can take up to twice the health timeout
+        List<Future<Boolean>> results;
+        try {
+            results = healthExecutor.invokeAll(polls, properties.getHealthTimeout().toNanos() * 2, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        for (int i = 0; i < instances.size(); i++) {
+            ServerInstance instance = instances.get(i);
+            boolean healthy = isHealthy(results.get(i));
+            if (healthy != instance.isHealthy()) {
+                log.warn("Server instance {} is now {}", instance.getBaseUri(), healthy ? "UP" : "DOWN");
+            }
+            instance.setHealthy(healthy);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        healthExecutor.shutdownNow();
+    }
+
+    private boolean poll(ServerInstance instance) {
+        try {
+            return healthClient.getForEntity(instance.getBaseUri() + properties.getHealthPath(), String.class)
+                    .getStatusCode().is2xxSuccessful();
+        } catch (RestClientException e) {
+            return false;
+        }
+    }
+
+    // A poll cut off by the timeout counts as down
+    private static boolean isHealthy(Future<Boolean> result) {
+        return result.state() == Future.State.SUCCESS && result.resultNow();
+    }
+
+    /**
+     * One hedged read. Remembers the instance the first attempt went to, so the hedge can go elsewhere.
+     */
+    public static final class HedgedCall {
+        @Nullable
+        private volatile ServerInstance primary;
+
+        public <T> T primary(Supplier<T> call) {
+            return run(new Attempt(this, false), call);
+        }
+
+        public <T> T hedge(Supplier<T> call) {
+            return run(new Attempt(this, true), call);
+        }
+
+        private static <T> T run(Attempt attempt, Supplier<T> call) {
+            ATTEMPT.set(attempt);
+            try {
+                return call.get();
+            } finally {
+                ATTEMPT.remove();
+            }
+        }
+    }
+
+    private record Attempt(HedgedCall call, boolean hedge) {
+    }
+}
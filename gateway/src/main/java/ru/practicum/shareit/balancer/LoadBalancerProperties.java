@@ -0,0 +1,33 @@
+package ru.practicum.shareit.balancer;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.balancer")
+public class LoadBalancerProperties {
+    // Empty means a single server at shareit-server.url and no balancing
+    private List<URI> instances = new ArrayList<>();
+    private Strategy strategy = Strategy.POWER_OF_TWO_CHOICES;
+    private String healthPath = "/actuator/health";
+    private Duration healthTimeout = Duration.ofSeconds(1);
+    private int ejectAfterFailures = 5;
+    private Duration ejectionDuration = Duration.ofSeconds(30);
+    private int virtualNodes = 100;
+    // Bounded-load factor for CONSISTENT_HASH: an instance takes at most this many times the average load
+    private double hashLoadFactor = 1.25;
+
+    public enum Strategy {
+        LEAST_OUTSTANDING,
+        POWER_OF_TWO_CHOICES,
+        // Sticks users (and item details) to one instance so its local caches stay warm
+        CONSISTENT_HASH
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.balancer;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ServerInstance {
+    private final URI baseUri;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile boolean healthy = true;
+    private volatile long ejectedUntilNanos;
+
+    public ServerInstance(URI baseUri) {
+        this.baseUri = baseUri;
+    }
+
+    public URI getBaseUri() {
+        return baseUri;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public boolean isEjected() {
+        return System.nanoTime() - ejectedUntilNanos < 0;
+    }
+
+    public boolean isAvailable() {
+        return healthy && !isEjected();
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    void start() {
+        outstanding.incrementAndGet();
+    }
+
+    void finish() {
+        outstanding.decrementAndGet();
+    }
+
+    void onSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    // Passive ejection: after too many failures in a row the instance sits out for a while
+    void onFailure(int ejectAfterFailures, long ejectionNanos) {
+        if (consecutiveFailures.incrementAndGet() >= ejectAfterFailures) {
+            consecutiveFailures.set(0);
+            ejectedUntilNanos = System.nanoTime() + ejectionNanos;
+        }
+    }
+}
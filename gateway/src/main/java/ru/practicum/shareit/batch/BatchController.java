@@ -0,0 +1,36 @@
+package ru.practicum.shareit.batch;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.SubResponseDto;
+import ru.practicum.shareit.ratelimit.ClientAddress;
+
+import java.util.List;
+
+@Controller
+@RequestMapping(path = "/batch")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class BatchController {
+    private final BatchDispatcher batchDispatcher;
+
+    @PostMapping
+    public ResponseEntity<List<SubResponseDto>> batch(@RequestHeader(value = "X-Sharer-User-Id", required = false) Long userId,
+                                                      @RequestBody @Valid BatchRequestDto batchRequestDto,
+                                                      HttpServletRequest request) {
+        log.info("Batch of {} requests, userId={}", batchRequestDto.getRequests().size(), userId);
+        return ResponseEntity.ok(batchDispatcher.dispatch(batchRequestDto.getRequests(), userId,
+                ClientAddress.of(request)));
+    }
+}
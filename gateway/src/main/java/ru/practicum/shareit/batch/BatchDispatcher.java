@@ -0,0 +1,187 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.batch.dto.SubRequestDto;
+import ru.practicum.shareit.batch.dto.SubResponseDto;
+import ru.practicum.shareit.client.UpstreamUnavailableException;
+import ru.practicum.shareit.ratelimit.RateLimitFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs each sub-request through the gateway client for its route, in process, so it reaches the server
+ * over the shared connection pool with the same breaker, hedging and caching as a standalone call.
+ * Sub-requests run on a bounded pool shared by all batches; the batch's own thread only schedules them
+ * and waits, so batches cannot starve the servlet container of workers. Each sub-request is rate limited
+ * as if it had been called on its own.
+ */
+@Component
+@EnableConfigurationProperties(BatchProperties.class)
+public class BatchDispatcher {
+    private final BatchProperties properties;
+    private final BatchRoutes routes;
+    private final ObjectMapper objectMapper;
+    @Nullable
+    private final RateLimitFilter rateLimiter;
+    private final ThreadPoolExecutor executor;
+
+    public BatchDispatcher(BatchProperties properties, BatchRoutes routes, ObjectMapper objectMapper,
+                           ObjectProvider<RateLimitFilter> rateLimiter) {
+        this.properties = properties;
+        this.routes = routes;
+        this.objectMapper = objectMapper;
+        this.rateLimiter = rateLimiter.getIfAvailable();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()), new CustomizableThreadFactory("batch-"));
+    }
+
+    public List<SubResponseDto> dispatch(List<SubRequestDto> requests, Long userId, String clientAddress) {
+        if (requests.size() > properties.getMaxRequests()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Batch is limited to " + properties.getMaxRequests() + " requests");
+        }
+        for (SubRequestDto request : requests) {
+            if (!SubRequestPaths.isAllowed(request.getPath(), properties.getAllowedPaths())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Path is not allowed in a batch: " + request.getPath());
+            }
+        }
+        long deadline = System.nanoTime() + properties.getTimeout().toNanos();
+        String caller = userId != null ? String.valueOf(userId) : clientAddress;
+        // Limits how much of the shared pool one batch holds; slots are taken here, never on pool threads
+        Semaphore window = new Semaphore(properties.getMaxConcurrency());
+        List<Future<SubResponseDto>> futures = new ArrayList<>(requests.size());
+        try {
+            for (SubRequestDto request : requests) {
+                futures.add(submit(request, userId, caller, window, deadline));
+            }
+            List<SubResponseDto> responses = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                responses.add(await(requests.get(i), futures.get(i), deadline));
+            }
+            return responses;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Batch was interrupted");
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Future<SubResponseDto> submit(SubRequestDto request, Long userId, String caller, Semaphore window,
+                                          long deadline) throws InterruptedException {
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        String path = request.getPath();
+        if (rateLimiter != null && rateLimiter.tryAcquire(method.name(), withoutQuery(path), caller) > 0) {
+            return CompletableFuture.completedFuture(error(request, HttpStatus.TOO_MANY_REQUESTS, "Too many requests"));
+        }
+        if (!window.tryAcquire(remaining(deadline), TimeUnit.NANOSECONDS)) {
+            return CompletableFuture.completedFuture(error(request, HttpStatus.GATEWAY_TIMEOUT, "Batch deadline exceeded"));
+        }
+        try {
+            return executor.submit(() -> {
+                try {
+                    return execute(request, method, userId);
+                } finally {
+                    window.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            window.release();
+            return CompletableFuture.completedFuture(error(request, HttpStatus.SERVICE_UNAVAILABLE, "Batch capacity exhausted"));
+        }
+    }
+
+    private SubResponseDto await(SubRequestDto request, Future<SubResponseDto> future, long deadline)
+            throws InterruptedException {
+        try {
+            return future.get(remaining(deadline), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return error(request, HttpStatus.GATEWAY_TIMEOUT, "Batch deadline exceeded");
+        } catch (ExecutionException e) {
+            return error(request, HttpStatus.BAD_GATEWAY, String.valueOf(e.getCause().getMessage()));
+        }
+    }
+
+    private SubResponseDto execute(SubRequestDto request, HttpMethod method, Long userId) {
+        try {
+            ResponseEntity<Object> response = routes.invoke(method, request.getPath(), userId, request.getBody());
+            return new SubResponseDto(request.getId(), response.getStatusCode().value(), toJson(response.getBody()));
+        } catch (ResponseStatusException e) {
+            return error(request, HttpStatus.valueOf(e.getStatusCode().value()), e.getReason());
+        } catch (UpstreamUnavailableException e) {
+            return error(request, HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        } catch (RestClientException | IOException e) {
+            return error(request, HttpStatus.BAD_GATEWAY, e.getMessage());
+        }
+    }
+
+    // Streamed relays are read to the end here, which also returns their connection to the pool
+    @Nullable
+    private JsonNode toJson(@Nullable Object body) throws IOException {
+        byte[] bytes;
+        if (body instanceof InputStreamResource resource) {
+            try (InputStream in = resource.getInputStream()) {
+                bytes = in.readAllBytes();
+            }
+        } else if (body instanceof byte[] buffered) {
+            bytes = buffered;
+        } else {
+            return body != null ? objectMapper.valueToTree(body) : null;
+        }
+        if (bytes.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(bytes);
+        } catch (IOException e) {
+            return objectMapper.getNodeFactory().textNode(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private SubResponseDto error(SubRequestDto request, HttpStatus status, @Nullable String message) {
+        return new SubResponseDto(request.getId(), status.value(),
+                objectMapper.createObjectNode().put("error", message));
+    }
+
+    private static String withoutQuery(String path) {
+        int query = path.indexOf('?');
+        return query >= 0 ? path.substring(0, query) : path;
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+}
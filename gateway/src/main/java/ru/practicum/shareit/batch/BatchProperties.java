@@ -0,0 +1,24 @@
+package ru.practicum.shareit.batch;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.batch")
+public class BatchProperties {
+    private int maxRequests = 20;
+    // Sub-requests of one batch in flight at once; the rest wait their turn
+    private int maxConcurrency = 6;
+    // Pool shared by all batches; sub-requests beyond threads + queue-capacity are answered with 503
+    private int threads = 32;
+    private int queueCapacity = 256;
+    // Whole batch; sub-requests still running at the deadline are cancelled and answered with 504
+    private Duration timeout = Duration.ofSeconds(10);
+    // Batches cannot nest and cannot reach the actuator
+    private List<String> allowedPaths = List.of("/users", "/items", "/bookings", "/requests");
+}
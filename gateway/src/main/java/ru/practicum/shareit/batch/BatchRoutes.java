@@ -0,0 +1,288 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.RequestClient;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Maps batch sub-requests onto the gateway clients, in process. Each route mirrors its controller method:
+ * the same parameters, defaults and constraints, and bodies validated against the same DTOs.
+ * Literal paths are listed before the variable ones they overlap, since the first match wins.
+ */
+@Component
+public class BatchRoutes {
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final List<Route> routes = new ArrayList<>();
+
+    public BatchRoutes(ObjectMapper objectMapper, Validator validator, UserClient users, ItemClient items,
+                       BookingClient bookings, RequestClient requests) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+
+        route(HttpMethod.GET, "/users", call -> users.getAllUsers());
+        route(HttpMethod.GET, "/users/{userId}", call -> users.getUser(call.positiveId("userId")));
+        route(HttpMethod.POST, "/users", call -> users.addUser(call.validBody(UserDto.class)));
+        route(HttpMethod.PATCH, "/users/{userId}", call -> users.updateUser(call.positiveId("userId"), call.body(UserDto.class)));
+        route(HttpMethod.DELETE, "/users/{userId}", call -> users.deleteUser(call.positiveId("userId")));
+
+        route(HttpMethod.GET, "/items/search", call ->
+                items.search(call.userId(), call.from(), call.size(), call.param("text")));
+        route(HttpMethod.GET, "/items", call -> items.getItems(call.userId(), call.from(), call.size()));
+        route(HttpMethod.GET, "/items/{itemId}", call -> items.getItem(call.userId(), call.id("itemId")));
+        route(HttpMethod.POST, "/items", call -> items.add(call.userId(), call.validBody(ItemDto.class)));
+        route(HttpMethod.PATCH, "/items/{itemId}", call ->
+                items.update(call.userId(), call.body(ItemDto.class), call.id("itemId")));
+        route(HttpMethod.DELETE, "/items/{itemId}", call -> items.delete(call.userId(), call.id("itemId")));
+        route(HttpMethod.GET, "/items/{itemId}/suggestions", call ->
+                items.getSuggestedRequests(call.userId(), call.id("itemId"), call.size()));
+        route(HttpMethod.POST, "/items/{itemId}/comment", call ->
+                items.addComment(call.userId(), call.id("itemId"), call.validBody(CommentDto.class)));
+
+        route(HttpMethod.GET, "/bookings/owner", call ->
+                bookings.getBookingsForOwner(call.userId(), call.state(), call.from(), call.size()));
+        route(HttpMethod.GET, "/bookings", call ->
+                bookings.getBookings(call.userId(), call.state(), call.from(), call.size()));
+        route(HttpMethod.POST, "/bookings", call -> bookings.bookItem(call.userId(), call.validBody(BookItemRequestDto.class)));
+        route(HttpMethod.GET, "/bookings/{bookingId}", call -> bookings.getBooking(call.userId(), call.id("bookingId")));
+        route(HttpMethod.PATCH, "/bookings/{bookingId}", call ->
+                bookings.setApprove(call.userId(), call.id("bookingId"), call.booleanParam("approved")));
+
+        route(HttpMethod.GET, "/requests/all", call -> {
+            LocalDateTime lastCreated = call.dateTimeParam("lastCreated");
+            Long lastId = call.positiveLongParam("lastId");
+            if (lastCreated != null && lastId != null) {
+                return requests.getItemRequestsAfter(call.userId(), call.size(), lastCreated, lastId);
+            }
+            return requests.getItemRequestsPageable(call.userId(), call.from(), call.size());
+        });
+        route(HttpMethod.GET, "/requests", call -> requests.getItemRequests(call.userId()));
+        route(HttpMethod.POST, "/requests", call -> requests.add(call.userId(), call.validBody(ItemRequestDto.class)));
+        route(HttpMethod.GET, "/requests/{requestId}", call ->
+                requests.getItemRequest(call.userId(), call.positiveId("requestId")));
+        route(HttpMethod.DELETE, "/requests/{requestId}", call ->
+                requests.delete(call.userId(), call.positiveId("requestId")));
+    }
+
+    /**
+     * Runs the client call for a sub-request.
+     *
+     * @throws ResponseStatusException for an unknown route, a missing or malformed parameter or an invalid body
+     */
+    public ResponseEntity<Object> invoke(HttpMethod method, String path, @Nullable Long userId, @Nullable JsonNode body) {
+        UriComponents uri = UriComponentsBuilder.fromUriString(path).build();
+        PathContainer pathContainer = PathContainer.parsePath(uri.getPath() != null ? uri.getPath() : "");
+        boolean pathMatched = false;
+        for (Route route : routes) {
+            PathPattern.PathMatchInfo match = route.pattern().matchAndExtract(pathContainer);
+            if (match == null) {
+                continue;
+            }
+            pathMatched = true;
+            if (route.method().equals(method)) {
+                return route.handler().handle(new Call(match.getUriVariables(), uri.getQueryParams(), userId, body));
+            }
+        }
+        if (pathMatched) {
+            throw new ResponseStatusException(HttpStatus.METHOD_NOT_ALLOWED, method + " is not supported for " + path);
+        }
+        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No route for " + path);
+    }
+
+    private void route(HttpMethod method, String pattern, Handler handler) {
+        routes.add(new Route(method, PathPatternParser.defaultInstance.parse(pattern), handler));
+    }
+
+    private record Route(HttpMethod method, PathPattern pattern, Handler handler) {
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        ResponseEntity<Object> handle(Call call);
+    }
+
+    private final class Call {
+        private final Map<String, String> variables;
+        private final MultiValueMap<String, String> query;
+        @Nullable
+        private final Long userId;
+        @Nullable
+        private final JsonNode body;
+
+        Call(Map<String, String> variables, MultiValueMap<String, String> query, @Nullable Long userId,
+             @Nullable JsonNode body) {
+            this.variables = variables;
+            this.query = query;
+            this.userId = userId;
+            this.body = body;
+        }
+
+        long userId() {
+            if (userId == null) {
+                throw badRequest("Missing X-Sharer-User-Id header");
+            }
+            return userId;
+        }
+
+        long id(String name) {
+            return parseLong(name, variables.get(name));
+        }
+
+        long positiveId(String name) {
+            long id = id(name);
+            if (id <= 0) {
+                throw badRequest(name + " must be positive");
+            }
+            return id;
+        }
+
+        int from() {
+            int from = intParam("from", 0);
+            if (from < 0) {
+                throw badRequest("from must not be negative");
+            }
+            return from;
+        }
+
+        int size() {
+            int size = intParam("size", 10);
+            if (size <= 0) {
+                throw badRequest("size must be positive");
+            }
+            return size;
+        }
+
+        BookingState state() {
+            String state = optionalParam("state");
+            String value = state != null ? state : "all";
+            return BookingState.from(value).orElseThrow(() -> badRequest("Unknown state: " + value));
+        }
+
+        String param(String name) {
+            String value = optionalParam(name);
+            if (value == null) {
+                throw badRequest("Missing parameter " + name);
+            }
+            return value;
+        }
+
+        boolean booleanParam(String name) {
+            String value = param(name);
+            if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+                throw badRequest(name + " must be true or false");
+            }
+            return Boolean.parseBoolean(value);
+        }
+
+        @Nullable
+        Long positiveLongParam(String name) {
+            String value = optionalParam(name);
+            if (value == null) {
+                return null;
+            }
+            long parsed = parseLong(name, value);
+            if (parsed <= 0) {
+                throw badRequest(name + " must be positive");
+            }
+            return parsed;
+        }
+
+        @Nullable
+        LocalDateTime dateTimeParam(String name) {
+            String value = optionalParam(name);
+            try {
+                return value != null ? LocalDateTime.parse(value) : null;
+            } catch (DateTimeParseException e) {
+                throw badRequest(name + " must be an ISO date-time");
+            }
+        }
+
+        <T> T body(Class<T> type) {
+            if (body == null || body.isNull()) {
+                throw badRequest("Missing request body");
+            }
+            try {
+                return objectMapper.treeToValue(body, type);
+            } catch (JsonProcessingException e) {
+                throw badRequest("Malformed request body: " + e.getOriginalMessage());
+            }
+        }
+
+        <T> T validBody(Class<T> type) {
+            T value = body(type);
+            Set<ConstraintViolation<T>> violations = validator.validate(value);
+            if (!violations.isEmpty()) {
+                throw badRequest(violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            }
+            return value;
+        }
+
+        private int intParam(String name, int defaultValue) {
+            String value = optionalParam(name);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw badRequest(name + " must be a number");
+            }
+        }
+
+        @Nullable
+        private String optionalParam(String name) {
+            String value = query.getFirst(name);
+            // Decoded as a servlet container decodes a query string, '+' included
+            return value != null ? UriUtils.decode(value.replace('+', ' '), StandardCharsets.UTF_8) : null;
+        }
+
+        private long parseLong(String name, @Nullable String value) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                throw badRequest(name + " must be a number");
+            }
+        }
+
+        private ResponseStatusException badRequest(String reason) {
+            return new ResponseStatusException(HttpStatus.BAD_REQUEST, reason);
+        }
+    }
+}
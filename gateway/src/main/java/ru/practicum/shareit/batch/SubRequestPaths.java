@@ -0,0 +1,45 @@
+package ru.practicum.shareit.batch;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Decides whether a sub-request path may be replayed. The check runs on the decoded path, so
+ * {@code /%62atch} is seen as {@code /batch}; anything the servlet container and MVC could resolve
+ * differently (encoded separators, dot segments, path parameters) is refused outright.
+ */
+@UtilityClass
+public class SubRequestPaths {
+
+    public boolean isAllowed(String path, List<String> allowedPrefixes) {
+        int query = path.indexOf('?');
+        String rawPath = query < 0 ? path : path.substring(0, query);
+        String lowerCase = rawPath.toLowerCase(Locale.ROOT);
+        if (lowerCase.contains("%2f") || lowerCase.contains("%5c") || lowerCase.contains("%3b")) {
+            return false;
+        }
+        String decoded;
+        try {
+            decoded = UriUtils.decode(rawPath, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        // A '%' left after decoding means the path was encoded twice
+        if (!decoded.startsWith("/") || decoded.contains("//") || decoded.contains("%")
+                || decoded.contains(";") || decoded.contains("\\")
+                || decoded.chars().anyMatch(Character::isISOControl)) {
+            return false;
+        }
+        for (String segment : decoded.split("/")) {
+            if (segment.equals(".") || segment.equals("..")) {
+                return false;
+            }
+        }
+        return allowedPrefixes.stream()
+                .anyMatch(prefix -> decoded.equals(prefix) || decoded.startsWith(prefix + "/"));
+    }
+}
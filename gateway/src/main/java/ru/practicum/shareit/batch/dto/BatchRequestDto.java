@@ -0,0 +1,18 @@
+package ru.practicum.shareit.batch.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequestDto {
+
+    @NotEmpty
+    private List<@Valid SubRequestDto> requests;
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.batch.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubRequestDto {
+
+    // Echoed back so the caller can match responses without relying on order
+    private String id;
+    @NotBlank
+    @Pattern(regexp = "GET|POST|PUT|PATCH|DELETE", message = "Unsupported method")
+    private String method;
+    // Checked against the allowed prefixes by the dispatcher once decoded
+    @NotBlank
+    @Pattern(regexp = "/\\S*", message = "Path must be a gateway API path")
+    private String path;
+    private JsonNode body;
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.batch.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubResponseDto {
+
+    private String id;
+    private int status;
+    private JsonNode body;
+}
@@ -1,22 +1,69 @@
 package ru.practicum.shareit.client;
 
+import jakarta.servlet.http.Cookie;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.WebUtils;
+import ru.practicum.shareit.balancer.LoadBalancer;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
 public class BaseClient {
+    // Set by the server on writes when it reads from replicas; the client carries it to whichever
+    // server instance handles its next reads, which then stay on the primary
+    private static final String PRIMARY_UNTIL_COOKIE = "shareit-primary-until";
+
     protected final RestTemplate rest;
+    @Nullable
+    private final UpstreamGuard upstreamGuard;
+    @Nullable
+    private final ResponseCache responseCache;
+    @Nullable
+    private final RequestCoalescer requestCoalescer;
+    @Nullable
+    private final Hedger hedger;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null, null, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable UpstreamGuard upstreamGuard) {
+        this(rest, upstreamGuard, null, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable UpstreamGuard upstreamGuard, @Nullable Hedger hedger) {
+        this(rest, upstreamGuard, null, null, hedger);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable UpstreamGuard upstreamGuard,
+                      @Nullable ResponseCache responseCache, @Nullable RequestCoalescer requestCoalescer) {
+        this(rest, upstreamGuard, responseCache, requestCoalescer, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable UpstreamGuard upstreamGuard,
+                      @Nullable ResponseCache responseCache, @Nullable RequestCoalescer requestCoalescer,
+                      @Nullable Hedger hedger) {
         this.rest = rest;
+        this.upstreamGuard = upstreamGuard;
+        this.responseCache = responseCache;
+        this.requestCoalescer = requestCoalescer;
+        this.hedger = hedger;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -31,6 +78,28 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    // Read shared by many callers: served from the gateway cache, revalidated with the server's ETag
+    // and coalesced with identical in-flight reads
+    protected ResponseEntity<Object> getCached(String path, @Nullable Long userId, @Nullable Map<String, Object> parameters) {
+        // Right after its own write a client must not be handed a shared, possibly older response
+        if (incomingCookie(PRIMARY_UNTIL_COOKIE) != null) {
+            return get(path, userId, parameters);
+        }
+        URI uri = expand(path, parameters);
+        String key = ResponseCache.key(uri, userId);
+        ResponseCache cache = activeCache();
+        if (cache != null) {
+            ResponseCache.CachedResponse cached = cache.get(key);
+            if (cached != null && cached.isFresh()) {
+                return cache.hit(cached);
+            }
+        }
+        if (requestCoalescer == null) {
+            return fetchShared(key, uri, userId);
+        }
+        return requestCoalescer.execute(key, () -> fetchShared(key, uri, userId));
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -81,41 +150,192 @@ public class BaseClient {
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        URI uri = expand(path, parameters);
+        ClientHttpResponse shareitServerResponse = execute(method, uri, requestEntity);
+        // The server lets shared reads be reused for a few seconds; a write through this gateway
+        // must not be followed by its own stale read
+        if (method != HttpMethod.GET) {
+            evictCached(uri);
+        }
+        return prepareGatewayResponse(shareitServerResponse);
+    }
+
+    // For writes that change a cached read other than the one at their own URI
+    protected void evictCached(String path) {
+        evictCached(expand(path, null));
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    private void evictCached(URI uri) {
+        ResponseCache cache = activeCache();
+        if (cache != null) {
+            cache.evict(uri);
+        }
+    }
+
+    private URI expand(String path, @Nullable Map<String, Object> parameters) {
+        return parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+    }
+
+    private ClientHttpResponse execute(HttpMethod method, URI uri, HttpEntity<?> requestEntity) {
+        RoutePolicies.Policy policy = hedger != null ? hedger.policy(method, uri) : null;
+        if (policy == null) {
+            return executeOnce(method, uri, requestEntity);
+        }
+        // Attempts are marked on their own threads for the balancer only, so no extra header reaches the server
+        LoadBalancer.HedgedCall call = new LoadBalancer.HedgedCall();
+        return hedger.execute(policy,
+                () -> call.primary(() -> executeOnce(method, uri, requestEntity)),
+                () -> call.hedge(() -> executeOnce(method, uri, requestEntity)));
+    }
+
+    private ClientHttpResponse executeOnce(HttpMethod method, URI uri, HttpEntity<?> requestEntity) {
+        if (upstreamGuard == null) {
+            return send(method, uri, requestEntity);
+        }
+        long start = System.nanoTime();
+        CircuitBreaker.Permit permit;
+        try {
+            permit = upstreamGuard.acquire();
+        } catch (UpstreamUnavailableException e) {
+            upstreamGuard.record(method.name(), uri.getPath(), "REJECTED", System.nanoTime() - start);
+            throw e;
+        }
+        boolean failed = true;
+        String outcome = "IO_ERROR";
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+            ClientHttpResponse response = send(method, uri, requestEntity);
+            int status;
+            try {
+                status = response.getStatusCode().value();
+            } catch (IOException e) {
+                response.close();
+                throw new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": " + e.getMessage(), e);
             }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            failed = status >= 500;
+            outcome = (status / 100) + "xx";
+            return response;
+        } finally {
+            upstreamGuard.release(permit, failed);
+            upstreamGuard.record(method.name(), uri.getPath(), outcome, System.nanoTime() - start);
         }
-        return prepareGatewayResponse(shareitServerResponse);
     }
 
+    private ClientHttpResponse send(HttpMethod method, URI uri, HttpEntity<?> requestEntity) {
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            rest.httpEntityCallback(requestEntity).doWithRequest(request);
+            return SmileResponse.toJson(request.execute());
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": " + e.getMessage(), e);
+        }
+    }
+
+    @Nullable
+    private ResponseCache activeCache() {
+        return responseCache != null && responseCache.isEnabled() ? responseCache : null;
+    }
+
+    private ResponseEntity<Object> fetchShared(String key, URI uri, @Nullable Long userId) {
+        ResponseCache cache = activeCache();
+        ResponseCache.CachedResponse cached = cache != null ? cache.get(key) : null;
+        HttpHeaders headers = defaultHeaders(userId);
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.etag());
+        }
+        ClientHttpResponse response = execute(HttpMethod.GET, uri, new HttpEntity<>(headers));
+        try (response) {
+            if (cache != null && cached != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                return cache.revalidated(key, cached, response.getHeaders());
+            }
+            if (cache != null) {
+                cache.miss();
+                if (cache.isCacheable(response)) {
+                    return cache.store(key, response);
+                }
+            }
+            return bufferedGatewayResponse(response);
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error reading shareit server response: " + e.getMessage(), e);
+        }
+    }
+
+    // The hop to the server speaks Smile both ways; responses are turned back into JSON in execute()
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setContentType(SmileResponse.SMILE);
+        headers.setAccept(List.of(SmileResponse.SMILE, MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
+        String primaryUntil = incomingCookie(PRIMARY_UNTIL_COOKIE);
+        if (primaryUntil != null) {
+            headers.add(HttpHeaders.COOKIE, PRIMARY_UNTIL_COOKIE + "=" + primaryUntil);
+        }
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    @Nullable
+    private static String incomingCookie(String name) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
         }
+        Cookie cookie = WebUtils.getCookie(attributes.getRequest(), name);
+        return cookie != null ? cookie.getValue() : null;
+    }
+
+    // Relays status, content headers, cookies and the raw body stream of the server response without parsing it.
+    // The upstream connection goes back to the pool once the body has been copied to the client.
+    private static ResponseEntity<Object> prepareGatewayResponse(ClientHttpResponse response) {
+        try {
+            HttpHeaders upstreamHeaders = response.getHeaders();
+            HttpHeaders headers = new HttpHeaders();
+            if (upstreamHeaders.getContentType() != null) {
+                headers.setContentType(upstreamHeaders.getContentType());
+            }
+            long contentLength = upstreamHeaders.getContentLength();
+            if (contentLength >= 0) {
+                headers.setContentLength(contentLength);
+            }
+            List<String> cookies = upstreamHeaders.get(HttpHeaders.SET_COOKIE);
+            if (cookies != null) {
+                headers.addAll(HttpHeaders.SET_COOKIE, cookies);
+            }
+            ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode()).headers(headers);
 
+            if (contentLength == 0 || upstreamHeaders.getContentType() == null) {
+                response.close();
+                return responseBuilder.build();
+            }
+            return responseBuilder.body(new InputStreamResource(new ResponseBodyStream(response)));
+        } catch (IOException e) {
+            response.close();
+            throw new ResourceAccessException("I/O error reading shareit server response: " + e.getMessage(), e);
+        }
+    }
+
+    private static ResponseEntity<Object> bufferedGatewayResponse(ClientHttpResponse response) throws IOException {
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        MediaType contentType = response.getHeaders().getContentType();
+        if (contentType == null) {
+            return responseBuilder.build();
+        }
+        byte[] body = response.getBody().readAllBytes();
+        return responseBuilder.contentType(contentType).contentLength(body.length).body(body);
+    }
+
+    private static class ResponseBodyStream extends FilterInputStream {
+        private final ClientHttpResponse response;
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        ResponseBodyStream(ClientHttpResponse response) throws IOException {
+            super(response.getBody());
+            this.response = response;
         }
 
-        return responseBuilder.build();
+        @Override
+        public void close() {
+            response.close();
+        }
     }
-}
\ No newline at end of file
+}
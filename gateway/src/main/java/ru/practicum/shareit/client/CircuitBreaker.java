@@ -0,0 +1,131 @@
+package ru.practicum.shareit.client;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker over the last {@code slidingWindowSize} upstream calls.
+ * 5xx answers and I/O errors count as failures, 4xx answers are the caller's fault and do not.
+ * Outcomes are reported against the {@link Permit} the call was admitted with; a call admitted
+ * before the last state change (e.g. while CLOSED, finishing during HALF_OPEN) is ignored.
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final ResilienceProperties.Limits limits;
+    private final LongSupplier nanoClock;
+    private final boolean[] window;
+    private int windowPosition;
+    private int recordedCalls;
+    private int failedCalls;
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+    // Bumped on every state change so outcomes of calls admitted in an earlier state can be told apart
+    private long generation;
+
+    public CircuitBreaker(ResilienceProperties.Limits limits) {
+        this(limits, System::nanoTime);
+    }
+
+    CircuitBreaker(ResilienceProperties.Limits limits, LongSupplier nanoClock) {
+        this.limits = limits;
+        this.nanoClock = nanoClock;
+        this.window = new boolean[limits.getSlidingWindowSize()];
+    }
+
+    /**
+     * Returns the permit to report the call's outcome with, or null when the call is not allowed.
+     * Every permit must be followed by exactly one of onSuccess or onFailure.
+     */
+    public synchronized Permit tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAtNanos < limits.getOpenDuration().toNanos()) {
+                return null;
+            }
+            state = State.HALF_OPEN;
+            generation++;
+            halfOpenPermits = limits.getHalfOpenCalls();
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return null;
+            }
+            halfOpenPermits--;
+        }
+        return new Permit(state, generation);
+    }
+
+    public synchronized void onSuccess(Permit permit) {
+        if (permit.generation() != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= limits.getHalfOpenCalls()) {
+                transitionToClosed();
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure(Permit permit) {
+        if (permit.generation() != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            transitionToOpen();
+            return;
+        }
+        record(true);
+        if (recordedCalls >= limits.getMinimumCalls()
+                && failedCalls * 100 >= limits.getFailureRateThreshold() * recordedCalls) {
+            transitionToOpen();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized int getFailureRate() {
+        return recordedCalls == 0 ? 0 : failedCalls * 100 / recordedCalls;
+    }
+
+    private void record(boolean failed) {
+        if (recordedCalls == window.length) {
+            if (window[windowPosition]) {
+                failedCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        window[windowPosition] = failed;
+        if (failed) {
+            failedCalls++;
+        }
+        windowPosition = (windowPosition + 1) % window.length;
+    }
+
+    private void transitionToOpen() {
+        state = State.OPEN;
+        generation++;
+        openedAtNanos = nanoClock.getAsLong();
+    }
+
+    private void transitionToClosed() {
+        state = State.CLOSED;
+        generation++;
+        windowPosition = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+    }
+
+    public record Permit(State grantedIn, long generation) {
+    }
+}
@@ -0,0 +1,216 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.balancer.LoadBalancer;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs calls on routes with a policy. A route deadline bounds the whole call, hedge included: when it
+ * passes, every attempt still running is cancelled. Idempotent reads are also hedged: when the first
+ * attempt has not answered by the route's p95, a second one is sent to another instance and whichever
+ * responds first wins. A budget keeps hedges to a few percent of calls.
+ * Hedging needs the balancer: with a single server instance a hedge would only add load to the server
+ * that is already slow, so routes are not hedged at all.
+ */
+@Component
+public class Hedger {
+    private static final long TOKEN = 1000;
+
+    private final RoutingProperties properties;
+    private final RoutePolicies routePolicies;
+    private final LoadBalancer loadBalancer;
+    private final long depositPerCall;
+    private final long maxBalance;
+    private final AtomicLong balance;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter sent;
+    private final Counter suppressed;
+
+    public Hedger(RoutingProperties properties, RoutePolicies routePolicies, LoadBalancer loadBalancer,
+                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.routePolicies = routePolicies;
+        this.loadBalancer = loadBalancer;
+        this.depositPerCall = Math.round(properties.getHedgeBudgetPercent() / 100 * TOKEN);
+        this.maxBalance = properties.getHedgeBurst() * TOKEN;
+        this.balance = new AtomicLong(maxBalance);
+        this.sent = meterRegistry.counter("gateway.hedges", "result", "sent");
+        this.suppressed = meterRegistry.counter("gateway.hedges", "result", "suppressed");
+    }
+
+    /**
+     * Returns the policy to run the call under, or null when the route has neither a deadline nor hedging.
+     */
+    @Nullable
+    RoutePolicies.Policy policy(HttpMethod method, URI uri) {
+        RoutePolicies.Policy policy = routePolicies.find(method, uri);
+        return policy != null && (policy.getDeadline() != null || isHedged(policy)) ? policy : null;
+    }
+
+    boolean isHedged(RoutePolicies.Policy policy) {
+        return policy.isHedge() && loadBalancer.isEnabled();
+    }
+
+    ClientHttpResponse execute(RoutePolicies.Policy policy, Supplier<ClientHttpResponse> primary,
+                               Supplier<ClientHttpResponse> hedge) {
+        long start = System.nanoTime();
+        long deadline = policy.getDeadline() != null ? start + policy.getDeadline().toNanos() : Long.MAX_VALUE;
+        boolean hedged = isHedged(policy);
+        if (hedged) {
+            deposit();
+        }
+        LatencyTracker latency = policy.getLatency();
+        long delay = !hedged || latency.count() < properties.getHedgeMinSamples()
+                ? -1
+                : Math.max(latency.p95Nanos(), properties.getHedgeMinDelay().toNanos());
+        if (delay < 0 && policy.getDeadline() == null) {
+            ClientHttpResponse response = primary.get();
+            latency.record(System.nanoTime() - start);
+            return response;
+        }
+        List<Attempt> attempts = new ArrayList<>(2);
+        attempts.add(submit(primary));
+        try {
+            if (delay >= 0 && delay < remaining(deadline) && !isDone(attempts.get(0), delay)) {
+                if (withdraw()) {
+                    sent.increment();
+                    attempts.add(submit(hedge));
+                } else {
+                    suppressed.increment();
+                }
+            }
+            ClientHttpResponse response = await(firstSuccessful(attempts), deadline, policy);
+            latency.record(System.nanoTime() - start);
+            return response;
+        } finally {
+            // A no-op for the winner; anything still running is interrupted and its late response closed
+            attempts.forEach(Attempt::cancel);
+        }
+    }
+
+    private Attempt submit(Supplier<ClientHttpResponse> call) {
+        CompletableFuture<ClientHttpResponse> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                ClientHttpResponse response = call.get();
+                if (!result.complete(response)) {
+                    response.close();
+                }
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return new Attempt(result, task);
+    }
+
+    private void deposit() {
+        balance.accumulateAndGet(depositPerCall, (current, add) -> Math.min(current + add, maxBalance));
+    }
+
+    private boolean withdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    private static boolean isDone(Attempt attempt, long waitNanos) {
+        try {
+            attempt.result().get(waitNanos, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted while waiting for the shareit server");
+        }
+    }
+
+    // The slower response is closed as soon as it arrives so its connection goes back to the pool
+    private static CompletableFuture<ClientHttpResponse> firstSuccessful(List<Attempt> attempts) {
+        if (attempts.size() == 1) {
+            return attempts.get(0).result();
+        }
+        CompletableFuture<ClientHttpResponse> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (Attempt attempt : attempts) {
+            attempt.result().whenComplete((response, error) -> {
+                if (error == null) {
+                    if (!winner.complete(response)) {
+                        response.close();
+                    }
+                } else if (failures.incrementAndGet() == attempts.size()) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        return winner;
+    }
+
+    private static ClientHttpResponse await(CompletableFuture<ClientHttpResponse> future, long deadline,
+                                            RoutePolicies.Policy policy) {
+        try {
+            return deadline == Long.MAX_VALUE
+                    ? future.get()
+                    : future.get(remaining(deadline), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (!future.cancel(false)) {
+                // Completed between the timeout and the cancel
+                return await(future, Long.MAX_VALUE, policy);
+            }
+            throw new ResourceAccessException("Deadline of " + policy.getDeadline().toMillis() + "ms exceeded for "
+                    + policy.getName());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted while waiting for the shareit server");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException
+                    ? e.getCause().getCause()
+                    : e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new ResourceAccessException("Shareit server call failed: " + cause);
+        }
+    }
+
+    private static long remaining(long deadline) {
+        return deadline == Long.MAX_VALUE ? Long.MAX_VALUE : Math.max(0, deadline - System.nanoTime());
+    }
+
+    private record Attempt(CompletableFuture<ClientHttpResponse> result, Future<?> task) {
+        // A response that arrives after this is closed by the task itself
+        void cancel() {
+            result.cancel(false);
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        }
+    }
+}
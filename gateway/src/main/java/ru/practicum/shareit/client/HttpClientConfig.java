@@ -0,0 +1,86 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import ru.practicum.shareit.balancer.LoadBalancer;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager shareitConnectionManager(HttpClientProperties properties) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxTotal())
+                .setMaxConnPerRoute(properties.getMaxPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(properties.getResponseTimeout()))
+                        .setValidateAfterInactivity(TimeValue.of(properties.getValidateAfterInactivity()))
+                        .setTimeToLive(TimeValue.of(properties.getTimeToLive()))
+                        .build())
+                .setDefaultSocketConfig(SocketConfig.custom()
+                        .setTcpNoDelay(true)
+                        .setSoKeepAlive(true)
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient shareitHttpClient(PoolingHttpClientConnectionManager shareitConnectionManager,
+                                                 HttpClientProperties properties) {
+        return HttpClients.custom()
+                .setConnectionManager(shareitConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(properties.getConnectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(properties.getResponseTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleEviction()))
+                .build();
+    }
+
+    // Route deadlines are enforced around the whole call by Hedger; the response timeout stays a socket-level bound
+    @Bean
+    public ClientHttpRequestFactory shareitRequestFactory(CloseableHttpClient shareitHttpClient, LoadBalancer loadBalancer) {
+        ClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(shareitHttpClient);
+        if (!loadBalancer.isEnabled()) {
+            return factory;
+        }
+        return new InterceptingClientHttpRequestFactory(factory, List.of(loadBalancer));
+    }
+
+    // Used by the clients' RestTemplates to write request bodies as Smile, with the same Jackson
+    // settings as JSON
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.createXmlMapper(false)
+                .factory(new SmileFactory())
+                .build());
+    }
+
+    @Bean
+    public MeterBinder shareitConnectionPoolMetrics(PoolingHttpClientConnectionManager shareitConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(shareitConnectionManager, "shareit-server");
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class HttpClientProperties {
+    // All clients talk to the same server, so one route normally owns the whole pool
+    private int maxTotal = 200;
+    private int maxPerRoute = 200;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration responseTimeout = Duration.ofSeconds(30);
+    private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    private Duration idleEviction = Duration.ofSeconds(30);
+    private Duration timeToLive = Duration.ofMinutes(5);
+}
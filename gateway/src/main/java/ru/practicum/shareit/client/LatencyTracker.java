@@ -0,0 +1,40 @@
+package ru.practicum.shareit.client;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Rolling p95 over the last few hundred calls of a route. Sorting a snapshot now and then is cheaper
+ * than keeping a full histogram for one percentile.
+ */
+class LatencyTracker {
+    private static final int SAMPLES = 256;
+    private static final int RECOMPUTE_EVERY = 32;
+
+    private final AtomicLongArray samples = new AtomicLongArray(SAMPLES);
+    private final AtomicLong count = new AtomicLong();
+    private volatile long p95Nanos = -1;
+
+    void record(long nanos) {
+        long n = count.getAndIncrement();
+        samples.set((int) (n % SAMPLES), nanos);
+        if ((n + 1) % RECOMPUTE_EVERY == 0) {
+            int size = (int) Math.min(n + 1, SAMPLES);
+            long[] snapshot = new long[size];
+            for (int i = 0; i < size; i++) {
+                snapshot[i] = samples.get(i);
+            }
+            Arrays.sort(snapshot);
+            p95Nanos = snapshot[(int) Math.ceil(size * 0.95) - 1];
+        }
+    }
+
+    long count() {
+        return count.get();
+    }
+
+    long p95Nanos() {
+        return p95Nanos;
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for identical reads: the first caller for a key goes upstream,
+ * concurrent callers with the same key wait for its buffered result.
+ */
+@Component
+public class RequestCoalescer {
+    private final ConcurrentHashMap<String, CompletableFuture<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long followerTimeoutNanos;
+    private final Counter coalesced;
+    private final Counter followerTimeouts;
+
+    public RequestCoalescer(@Value("${shareit-server.coalescing.enabled:true}") boolean enabled,
+                            @Value("${shareit-server.coalescing.follower-timeout:2s}") Duration followerTimeout,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.followerTimeoutNanos = followerTimeout.toNanos();
+        this.coalesced = meterRegistry.counter("gateway.coalescing.requests", "result", "coalesced");
+        this.followerTimeouts = meterRegistry.counter("gateway.coalescing.requests", "result", "timeout");
+        meterRegistry.gaugeMapSize("gateway.coalescing.in.flight", List.of(), inFlight);
+    }
+
+    // The supplied call must return a buffered body, since the same response is handed to every waiter
+    public ResponseEntity<Object> execute(String key, Supplier<ResponseEntity<Object>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        CompletableFuture<ResponseEntity<Object>> own = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> leader = inFlight.putIfAbsent(key, own);
+        if (leader == null) {
+            try {
+                ResponseEntity<Object> response = call.get();
+                own.complete(response);
+                return response;
+            } catch (RuntimeException e) {
+                own.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, own);
+            }
+        }
+
+        coalesced.increment();
+        try {
+            return leader.get(followerTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // A slow leader must not pin its followers: go upstream independently
+            followerTimeouts.increment();
+            return call.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ResourceAccessException("Coalesced request failed: " + e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted while waiting for a coalesced request");
+        }
+    }
+}
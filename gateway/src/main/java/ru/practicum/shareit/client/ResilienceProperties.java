@@ -0,0 +1,34 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.resilience")
+public class ResilienceProperties {
+    private Limits defaults = new Limits();
+    // Per client overrides, keyed by client name (items, users, bookings, requests)
+    private Map<String, Limits> clients = new HashMap<>();
+
+    public Limits forClient(String name) {
+        return clients.getOrDefault(name, defaults);
+    }
+
+    @Getter
+    @Setter
+    public static class Limits {
+        private int maxConcurrentCalls = 50;
+        private Duration maxWait = Duration.ofMillis(100);
+        private int slidingWindowSize = 50;
+        private int minimumCalls = 20;
+        private int failureRateThreshold = 50;
+        private Duration openDuration = Duration.ofSeconds(10);
+        private int halfOpenCalls = 5;
+    }
+}
@@ -0,0 +1,137 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Size-bounded cache of server GET responses that carry an ETag.
+ * Entries are revalidated with If-None-Match unless the server allowed a max-age.
+ */
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCache {
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final ResponseCacheProperties properties;
+    private final Cache<String, CachedResponse> cache;
+    private final Counter hits;
+    private final Counter revalidated;
+    private final Counter misses;
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxBytes())
+                .weigher((String key, CachedResponse value) -> key.length() * 2 + value.body().length + ENTRY_OVERHEAD_BYTES)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.responses");
+        this.hits = meterRegistry.counter("gateway.cache.requests", "result", "hit");
+        this.revalidated = meterRegistry.counter("gateway.cache.requests", "result", "revalidated");
+        this.misses = meterRegistry.counter("gateway.cache.requests", "result", "miss");
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    // Pass the user id for responses that depend on the caller; null shares one entry between all users
+    public static String key(URI uri, @Nullable Long userId) {
+        return (userId != null ? userId : "-") + " " + uri;
+    }
+
+    @Nullable
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void evict(URI uri) {
+        cache.invalidate(key(uri, null));
+    }
+
+    public ResponseEntity<Object> hit(CachedResponse cached) {
+        hits.increment();
+        return cached.toResponseEntity();
+    }
+
+    public ResponseEntity<Object> revalidated(String key, CachedResponse cached, HttpHeaders upstreamHeaders) {
+        revalidated.increment();
+        CachedResponse refreshed = cached.withExpiry(expiresAt(upstreamHeaders));
+        cache.put(key, refreshed);
+        return refreshed.toResponseEntity();
+    }
+
+    public void miss() {
+        misses.increment();
+    }
+
+    public boolean isCacheable(ClientHttpResponse response) throws IOException {
+        HttpHeaders headers = response.getHeaders();
+        String cacheControl = headers.getCacheControl();
+        long contentLength = headers.getContentLength();
+        return response.getStatusCode().is2xxSuccessful()
+                && headers.getETag() != null
+                && headers.getContentType() != null
+                && (cacheControl == null || !cacheControl.contains("no-store"))
+                && contentLength <= properties.getMaxEntryBytes();
+    }
+
+    // Transcoded responses have no length up front, so the size limit is checked again on the body
+    public ResponseEntity<Object> store(String key, ClientHttpResponse response) throws IOException {
+        HttpHeaders headers = response.getHeaders();
+        CachedResponse cached = new CachedResponse(response.getStatusCode(), headers.getContentType(),
+                headers.getETag(), response.getBody().readAllBytes(), expiresAt(headers));
+        if (cached.body().length <= properties.getMaxEntryBytes()) {
+            cache.put(key, cached);
+        }
+        return cached.toResponseEntity();
+    }
+
+    private static long expiresAt(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null && !cacheControl.contains("no-cache")) {
+            Matcher matcher = MAX_AGE.matcher(cacheControl);
+            if (matcher.find()) {
+                return System.nanoTime() + Long.parseLong(matcher.group(1)) * 1_000_000_000L;
+            }
+        }
+        return System.nanoTime();
+    }
+
+    public record CachedResponse(HttpStatusCode status, MediaType contentType, String etag, byte[] body,
+                                 long expiresAtNanos) {
+
+        public boolean isFresh() {
+            return System.nanoTime() - expiresAtNanos < 0;
+        }
+
+        CachedResponse withExpiry(long expiresAtNanos) {
+            return new CachedResponse(status, contentType, etag, body, expiresAtNanos);
+        }
+
+        ResponseEntity<Object> toResponseEntity() {
+            return ResponseEntity.status(status)
+                    .contentType(contentType)
+                    .contentLength(body.length)
+                    .eTag(etag)
+                    .body(body);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.cache")
+public class ResponseCacheProperties {
+    private boolean enabled = true;
+    private long maxBytes = 64L * 1024 * 1024;
+    private int maxEntryBytes = 256 * 1024;
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+@Component
+@EnableConfigurationProperties(RoutingProperties.class)
+public class RoutePolicies {
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private final List<Policy> policies;
+
+    public RoutePolicies(RoutingProperties properties) {
+        this.policies = properties.getPolicies().entrySet().stream()
+                .map(entry -> new Policy(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    @Nullable
+    public Policy find(HttpMethod method, URI uri) {
+        String path = uri.getPath();
+        for (Policy policy : policies) {
+            if (policy.method.equals(method) && MATCHER.match(policy.path, path)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    @Getter
+    public static class Policy {
+        private final String name;
+        private final HttpMethod method;
+        private final String path;
+        @Nullable
+        private final Duration deadline;
+        private final boolean hedge;
+        private final LatencyTracker latency = new LatencyTracker();
+
+        Policy(String name, RoutingProperties.Policy properties) {
+            this.name = name;
+            this.method = HttpMethod.valueOf(properties.getMethod());
+            this.path = properties.getPath();
+            this.deadline = properties.getDeadline();
+            this.hedge = properties.isHedge() && method == HttpMethod.GET;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.routing")
+public class RoutingProperties {
+    // Hedges allowed as a share of all calls on hedged routes, on top of a small burst allowance
+    private double hedgeBudgetPercent = 5;
+    private int hedgeBurst = 10;
+    // No hedging until the route has this many latency samples to take its p95 from
+    private int hedgeMinSamples = 50;
+    private Duration hedgeMinDelay = Duration.ofMillis(5);
+    // Checked in order; the first policy whose method and path match applies
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Policy {
+        private String method = "GET";
+        private String path;
+        private Duration deadline;
+        private boolean hedge;
+    }
+}
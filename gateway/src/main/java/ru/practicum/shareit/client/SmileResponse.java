@@ -0,0 +1,166 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Server response received as Smile and re-encoded as JSON for the gateway's own callers.
+ * Transcoding copies tokens and never binds to objects; it runs as the body is read, a chunk at a time,
+ * so a relayed response is never held in memory as a whole. The JSON length is not known up front.
+ */
+class SmileResponse implements ClientHttpResponse {
+    static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final ClientHttpResponse response;
+    private final HttpHeaders headers;
+    private TranscodingStream body;
+
+    private SmileResponse(ClientHttpResponse response, HttpHeaders headers) {
+        this.response = response;
+        this.headers = headers;
+    }
+
+    static ClientHttpResponse toJson(ClientHttpResponse response) {
+        MediaType contentType = response.getHeaders().getContentType();
+        if (contentType == null || !SMILE.isCompatibleWith(contentType)) {
+            return response;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        return new SmileResponse(response, headers);
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+        return response.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return response.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        if (body == null) {
+            body = new TranscodingStream(SMILE_FACTORY.createParser(response.getBody()));
+        }
+        return body;
+    }
+
+    @Override
+    public void close() {
+        if (body != null) {
+            body.closeParser();
+        }
+        response.close();
+    }
+
+    private static class TranscodingStream extends InputStream {
+        // Roughly one socket write; a single token larger than this is emitted whole
+        private static final int CHUNK_BYTES = 8192;
+
+        private final JsonParser parser;
+        private final Chunk chunk = new Chunk();
+        private final JsonGenerator generator;
+        private int position;
+        private boolean finished;
+
+        TranscodingStream(JsonParser parser) throws IOException {
+            this.parser = parser;
+            this.generator = JSON_FACTORY.createGenerator(chunk);
+        }
+
+        @Override
+        public int read() throws IOException {
+            return hasBuffered() ? chunk.bytes()[position++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!hasBuffered()) {
+                return -1;
+            }
+            int count = Math.min(len, chunk.size() - position);
+            System.arraycopy(chunk.bytes(), position, b, off, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return chunk.size() - position;
+        }
+
+        // Transcodes chunks until one has bytes left to hand out; false at the end of the body
+        private boolean hasBuffered() throws IOException {
+            while (position == chunk.size()) {
+                if (finished) {
+                    return false;
+                }
+                fill();
+            }
+            return true;
+        }
+
+        private void fill() throws IOException {
+            chunk.reset();
+            position = 0;
+            while (chunk.size() + generator.getOutputBuffered() < CHUNK_BYTES) {
+                if (parser.nextToken() == null) {
+                    generator.close();
+                    finished = true;
+                    return;
+                }
+                generator.copyCurrentEvent(parser);
+            }
+            generator.flush();
+        }
+
+        void closeParser() {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // The upstream response is closed right after, releasing the connection either way
+            }
+        }
+
+        @Override
+        public void close() {
+            closeParser();
+        }
+    }
+
+    private static class Chunk extends ByteArrayOutputStream {
+        Chunk() {
+            super(TranscodingStream.CHUNK_BYTES * 2);
+        }
+
+        byte[] bytes() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Bulkhead plus circuit breaker for the calls of one client, so a slow or failing
+ * route cannot take the gateway threads of the other routes with it.
+ */
+public class UpstreamGuard {
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private final String name;
+    private final ResilienceProperties.Limits limits;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public UpstreamGuard(String name, ResilienceProperties.Limits limits, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.limits = limits;
+        this.bulkhead = new Semaphore(limits.getMaxConcurrentCalls());
+        this.circuitBreaker = new CircuitBreaker(limits);
+        this.meterRegistry = meterRegistry;
+    }
+
+    // The bulkhead slot is taken first: a call turned away there must not hold a half-open trial permit
+    public CircuitBreaker.Permit acquire() {
+        boolean permitted;
+        try {
+            permitted = bulkhead.tryAcquire(limits.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            permitted = false;
+        }
+        if (!permitted) {
+            throw new UpstreamUnavailableException("Bulkhead for " + name + " is full");
+        }
+        CircuitBreaker.Permit permit = circuitBreaker.tryAcquirePermission();
+        if (permit == null) {
+            bulkhead.release();
+            throw new UpstreamUnavailableException("Circuit breaker for " + name + " is open");
+        }
+        return permit;
+    }
+
+    public void release(CircuitBreaker.Permit permit, boolean failed) {
+        bulkhead.release();
+        if (failed) {
+            circuitBreaker.onFailure(permit);
+        } else {
+            circuitBreaker.onSuccess(permit);
+        }
+    }
+
+    // Timers are looked up once per route/method/outcome; ids in paths are folded into {id}
+    // so the route tag stays a template
+    public void record(String method, String path, String outcome, long nanos) {
+        String key = method + ' ' + path + ' ' + outcome;
+        Timer timer = timers.get(key);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(key, k -> Timer.builder("gateway.upstream.requests")
+                    .tag("client", name)
+                    .tag("method", method)
+                    .tag("route", ID_SEGMENT.matcher(path).replaceAll("/{id}"))
+                    .tag("status", outcome)
+                    .register(meterRegistry));
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getAvailableConcurrentCalls() {
+        return bulkhead.availablePermits();
+    }
+
+    public int getQueuedCalls() {
+        return bulkhead.getQueueLength();
+    }
+
+    public int getMaxConcurrentCalls() {
+        return limits.getMaxConcurrentCalls();
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+}
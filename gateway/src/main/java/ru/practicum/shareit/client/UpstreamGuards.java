@@ -0,0 +1,63 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Endpoint(id = "upstreams")
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class UpstreamGuards {
+    private final ResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, UpstreamGuard> guards = new ConcurrentHashMap<>();
+
+    public UpstreamGuards(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public UpstreamGuard get(String name) {
+        return guards.computeIfAbsent(name, this::create);
+    }
+
+    @ReadOperation
+    public Map<String, GuardState> upstreams() {
+        Map<String, GuardState> states = new TreeMap<>();
+        guards.forEach((name, guard) -> states.put(name, new GuardState(
+                guard.getCircuitBreaker().getState(),
+                guard.getCircuitBreaker().getFailureRate(),
+                guard.getAvailableConcurrentCalls(),
+                guard.getMaxConcurrentCalls())));
+        return states;
+    }
+
+    private UpstreamGuard create(String name) {
+        UpstreamGuard guard = new UpstreamGuard(name, properties.forClient(name), meterRegistry);
+        Gauge.builder("gateway.upstream.bulkhead.available", guard, UpstreamGuard::getAvailableConcurrentCalls)
+                .tag("client", name)
+                .register(meterRegistry);
+        Gauge.builder("gateway.upstream.in.flight", guard, g -> g.getMaxConcurrentCalls() - g.getAvailableConcurrentCalls())
+                .tag("client", name)
+                .register(meterRegistry);
+        Gauge.builder("gateway.upstream.bulkhead.queued", guard, UpstreamGuard::getQueuedCalls)
+                .tag("client", name)
+                .register(meterRegistry);
+        Gauge.builder("gateway.upstream.circuit.state", guard, g -> g.getCircuitBreaker().getState().ordinal())
+                .tag("client", name)
+                .description("0 - closed, 1 - open, 2 - half open")
+                .register(meterRegistry);
+        return guard;
+    }
+
+    public record GuardState(CircuitBreaker.State state, int failureRatePercent,
+                             int availableConcurrentCalls, int maxConcurrentCalls) {
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class UpstreamUnavailableException extends RuntimeException {
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+}
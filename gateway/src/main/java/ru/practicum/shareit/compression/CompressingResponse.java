@@ -0,0 +1,230 @@
+package ru.practicum.shareit.compression;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * Holds the body back until it is known to exceed the threshold, then either compresses it or
+ * writes it through unchanged. Content-Length is withheld because it no longer holds once compressed.
+ */
+class CompressingResponse extends HttpServletResponseWrapper {
+    private final ContentEncoding encoding;
+    private final DeflaterPool pool;
+    private final int threshold;
+    private final List<MediaType> mimeTypes;
+    private long declaredLength = -1;
+    private ThresholdStream stream;
+    private PrintWriter writer;
+
+    CompressingResponse(HttpServletResponse response, ContentEncoding encoding, DeflaterPool pool, int threshold,
+                        List<MediaType> mimeTypes) {
+        super(response);
+        this.encoding = encoding;
+        this.pool = pool;
+        this.threshold = threshold;
+        this.mimeTypes = mimeTypes;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        declaredLength = len;
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        declaredLength = len;
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            declaredLength = Long.parseLong(value);
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            declaredLength = Long.parseLong(value);
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (stream == null) {
+            stream = new ThresholdStream();
+        }
+        return stream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (stream != null) {
+            stream.flush();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (stream != null) {
+            stream.buffer.reset();
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        resetBuffer();
+        declaredLength = -1;
+        super.reset();
+    }
+
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (stream != null) {
+            stream.finish();
+        } else if (declaredLength >= 0) {
+            super.setContentLengthLong(declaredLength);
+        }
+    }
+
+    void abandon() {
+        if (stream != null && stream.deflating != null) {
+            stream.deflating.abandon();
+        }
+    }
+
+    private boolean isCompressible() {
+        int status = getStatus();
+        if (status < 200 || status == SC_NO_CONTENT || status == SC_NOT_MODIFIED
+                || getHeader(HttpHeaders.CONTENT_ENCODING) != null || getContentType() == null) {
+            return false;
+        }
+        MediaType contentType = MediaType.parseMediaType(getContentType());
+        return mimeTypes.stream().anyMatch(type -> type.isCompatibleWith(contentType));
+    }
+
+    private class ThresholdStream extends ServletOutputStream {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private ServletOutputStream raw;
+        private DeflatingOutputStream deflating;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (deflating != null) {
+                deflating.write(b);
+            } else if (raw != null) {
+                raw.write(b);
+            } else if (fits(1)) {
+                buffer.write(b);
+            } else {
+                open(declaredLength < 0 || declaredLength >= threshold);
+                write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (deflating != null) {
+                deflating.write(b, off, len);
+            } else if (raw != null) {
+                raw.write(b, off, len);
+            } else if (fits(len)) {
+                buffer.write(b, off, len);
+            } else {
+                open(declaredLength < 0 || declaredLength >= threshold);
+                write(b, off, len);
+            }
+        }
+
+        private boolean fits(int len) {
+            return buffer.size() + len < threshold && (declaredLength < 0 || declaredLength >= threshold);
+        }
+
+        // Decides between compressing and passing through once the size is known to matter
+        private void open(boolean large) throws IOException {
+            if (large && isCompressible()) {
+                CompressingResponse.super.setHeader(HttpHeaders.CONTENT_ENCODING, encoding.token());
+                deflating = new DeflatingOutputStream(getResponse().getOutputStream(), pool,
+                        encoding == ContentEncoding.GZIP);
+                buffer.writeTo(deflating);
+            } else {
+                long length = declaredLength >= 0 ? declaredLength : (large ? -1 : buffer.size());
+                if (length >= 0) {
+                    CompressingResponse.super.setContentLengthLong(length);
+                }
+                raw = getResponse().getOutputStream();
+                buffer.writeTo(raw);
+            }
+            buffer.reset();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // While buffering there is nothing to flush yet; committing now would fix the headers too early
+            if (deflating != null) {
+                deflating.flush();
+            } else if (raw != null) {
+                raw.flush();
+            }
+        }
+
+        void finish() throws IOException {
+            if (deflating == null && raw == null) {
+                open(false);
+            }
+            if (deflating != null) {
+                deflating.finish();
+            }
+        }
+
+        // Buffered bytes are always accepted; once the body is opened, readiness is the container's
+        @Override
+        public boolean isReady() {
+            if (deflating == null && raw == null) {
+                return true;
+            }
+            try {
+                return getResponse().getOutputStream().isReady();
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            try {
+                getResponse().getOutputStream().setWriteListener(writeListener);
+            } catch (IOException e) {
+                throw new IllegalStateException("Response output stream is not available", e);
+            }
+        }
+    }
+}
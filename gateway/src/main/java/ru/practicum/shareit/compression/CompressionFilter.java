@@ -0,0 +1,62 @@
+package ru.practicum.shareit.compression;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * gzip/deflate for large responses, negotiated from Accept-Encoding. Brotli has no encoder in the
+ * JDK, so it is not offered.
+ */
+@Component
+@ConditionalOnProperty(prefix = "shareit-gateway.compression", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(CompressionProperties.class)
+public class CompressionFilter extends OncePerRequestFilter {
+    private final int threshold;
+    private final List<MediaType> mimeTypes;
+    private final Map<ContentEncoding, DeflaterPool> pools = new EnumMap<>(ContentEncoding.class);
+
+    public CompressionFilter(CompressionProperties properties) {
+        this.threshold = (int) properties.getMinResponseSize().toBytes();
+        this.mimeTypes = MediaType.parseMediaTypes(properties.getMimeTypes());
+        pools.put(ContentEncoding.GZIP, new DeflaterPool(properties.getLevel(), true, properties.getPoolSize()));
+        pools.put(ContentEncoding.DEFLATE, new DeflaterPool(properties.getLevel(), false, properties.getPoolSize()));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return "HEAD".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        ContentEncoding encoding = ContentEncoding.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        CompressingResponse compressing = new CompressingResponse(response, encoding, pools.get(encoding),
+                threshold, mimeTypes);
+        try {
+            chain.doFilter(request, compressing);
+            compressing.finish();
+        } catch (IOException | ServletException | RuntimeException e) {
+            compressing.abandon();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.compression;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.compression")
+public class CompressionProperties {
+    private boolean enabled = true;
+    // Small bodies fit in a packet either way and are not worth the CPU
+    private DataSize minResponseSize = DataSize.ofKilobytes(2);
+    private int level = 5;
+    private int poolSize = 64;
+    private List<String> mimeTypes = new ArrayList<>(List.of("application/json"));
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.compression;
+
+import org.springframework.lang.Nullable;
+
+enum ContentEncoding {
+    GZIP("gzip"),
+    DEFLATE("deflate");
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    String token() {
+        return token;
+    }
+
+    // Picks gzip over deflate when both are accepted; a q=0 entry rules an encoding out
+    @Nullable
+    static ContentEncoding negotiate(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        boolean gzip = false;
+        boolean deflate = false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String name = tokens[0].trim().toLowerCase();
+            if (tokens.length > 1 && tokens[1].trim().replace(" ", "").matches("q=0(\\.0*)?")) {
+                continue;
+            }
+            if (name.equals("gzip") || name.equals("*")) {
+                gzip = true;
+            } else if (name.equals("deflate")) {
+                deflate = true;
+            }
+        }
+        return gzip ? GZIP : deflate ? DEFLATE : null;
+    }
+}
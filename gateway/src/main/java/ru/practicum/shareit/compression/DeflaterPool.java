@@ -0,0 +1,32 @@
+package ru.practicum.shareit.compression;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Reuses Deflaters, whose native zlib state is costly to allocate and only freed by end() or GC.
+ */
+class DeflaterPool {
+    private final int level;
+    private final boolean nowrap;
+    private final BlockingQueue<Deflater> idle;
+
+    DeflaterPool(int level, boolean nowrap, int size) {
+        this.level = level;
+        this.nowrap = nowrap;
+        this.idle = new ArrayBlockingQueue<>(size);
+    }
+
+    Deflater borrow() {
+        Deflater deflater = idle.poll();
+        return deflater != null ? deflater : new Deflater(level, nowrap);
+    }
+
+    void release(Deflater deflater) {
+        deflater.reset();
+        if (!idle.offer(deflater)) {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * gzip or zlib stream over a pooled Deflater. GZIPOutputStream cannot take a Deflater of its own,
+ * so the gzip header and trailer are written here.
+ */
+class DeflatingOutputStream extends OutputStream {
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final OutputStream out;
+    private final DeflaterPool pool;
+    private final Deflater deflater;
+    private final CRC32 crc;
+    private final byte[] buffer = new byte[8192];
+    private final byte[] single = new byte[1];
+    private boolean finished;
+
+    DeflatingOutputStream(OutputStream out, DeflaterPool pool, boolean gzip) throws IOException {
+        this.out = out;
+        this.pool = pool;
+        this.deflater = pool.borrow();
+        this.crc = gzip ? new CRC32() : null;
+        if (gzip) {
+            out.write(GZIP_HEADER);
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        single[0] = (byte) b;
+        write(single, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return;
+        }
+        if (crc != null) {
+            crc.update(b, off, len);
+        }
+        deflater.setInput(b, off, len);
+        while (!deflater.needsInput()) {
+            drain();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        try {
+            deflater.finish();
+            while (!deflater.finished()) {
+                drain();
+            }
+            if (crc != null) {
+                writeIntLe((int) crc.getValue());
+                writeIntLe((int) deflater.getBytesRead());
+            }
+        } finally {
+            pool.release(deflater);
+        }
+    }
+
+    // Gives the Deflater back without writing the trailer, for responses abandoned on error
+    void abandon() {
+        if (!finished) {
+            finished = true;
+            pool.release(deflater);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+        out.close();
+    }
+
+    private void drain() throws IOException {
+        int n = deflater.deflate(buffer, 0, buffer.length);
+        if (n > 0) {
+            out.write(buffer, 0, n);
+        }
+    }
+
+    private void writeIntLe(int value) throws IOException {
+        out.write(value & 0xff);
+        out.write((value >>> 8) & 0xff);
+        out.write((value >>> 16) & 0xff);
+        out.write((value >>> 24) & 0xff);
+    }
+}
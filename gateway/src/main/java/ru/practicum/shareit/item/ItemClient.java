@@ -4,10 +4,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.Hedger;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.UpstreamGuards;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
@@ -18,17 +22,24 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory shareitRequestFactory, UpstreamGuards upstreamGuards,
+                      ResponseCache responseCache, RequestCoalescer requestCoalescer, Hedger hedger) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> shareitRequestFactory)
+                        .build(),
+                upstreamGuards.get("items"),
+                responseCache,
+                requestCoalescer,
+                hedger
         );
     }
 
+    // Item detail and search do not depend on the caller, so all users share one cache entry
     public ResponseEntity<Object> getItem(long userId, long itemId) {
-        return get("/" + itemId, userId);
+        return getCached("/" + itemId, null, null);
     }
 
     public ResponseEntity<Object> getItems(long userId, int from, int size) {
@@ -57,10 +68,20 @@ public class ItemClient extends BaseClient {
                 "size", size,
                 "text", text
         );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return getCached("/search?text={text}&from={from}&size={size}", null, parameters);
+    }
+
+    public ResponseEntity<Object> getSuggestedRequests(long userId, long itemId, int size) {
+        Map<String, Object> parameters = Map.of(
+                "size", size
+        );
+        return get("/" + itemId + "/suggestions?size={size}", userId, parameters);
     }
 
     public ResponseEntity<Object> addComment(long userId, long itemId, CommentDto comment) {
-        return post("/" + itemId + "/comment", userId, comment);
+        ResponseEntity<Object> response = post("/" + itemId + "/comment", userId, comment);
+        // Comments are part of the cached item detail
+        evictCached("/" + itemId);
+        return response;
     }
 }
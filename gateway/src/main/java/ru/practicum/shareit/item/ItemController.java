@@ -76,6 +76,14 @@ public class ItemController {
         return client.search(userId, from, size, text);
     }
 
+    @GetMapping("/{itemId}/suggestions")
+    public ResponseEntity<Object> getSuggestedRequests(@PathVariable("itemId") Long itemId,
+                                                       @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                       @Positive @RequestParam(defaultValue = "10") int size) {
+        log.info("Get suggested requests for item {}, userId = {}, size = {}", itemId, userId, size);
+        return client.getSuggestedRequests(userId, itemId, size);
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<Object> addComment(@Valid @RequestBody CommentDto comment,
                                              @RequestHeader("X-Sharer-User-Id") Long userId,
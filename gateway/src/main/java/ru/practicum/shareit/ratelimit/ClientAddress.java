@@ -0,0 +1,28 @@
+package ru.practicum.shareit.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.experimental.UtilityClass;
+
+import java.util.Set;
+
+/**
+ * Resolves the address a request is accounted to. A proxy on the same host may pass the original
+ * caller in {@code X-Forwarded-For}; that header is only trusted from loopback.
+ */
+@UtilityClass
+public class ClientAddress {
+    public static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private static final Set<String> LOOPBACK = Set.of("127.0.0.1", "0:0:0:0:0:0:0:1", "::1");
+
+    public String of(HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+        String forwardedFor = request.getHeader(FORWARDED_FOR_HEADER);
+        if (forwardedFor == null || forwardedFor.isBlank() || !LOOPBACK.contains(remoteAddress)) {
+            return remoteAddress;
+        }
+        // The last hop is the one appended by whoever sits in front of us
+        String[] hops = forwardedFor.split(",");
+        return hops[hops.length - 1].trim();
+    }
+}
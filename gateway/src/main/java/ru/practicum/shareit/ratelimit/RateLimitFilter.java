@@ -0,0 +1,89 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "shareit-gateway.rate-limit", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final RateLimitProperties properties;
+    private final Cache<String, TokenBucket> buckets;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleEviction())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "gateway.rate.limit.buckets");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String caller = request.getHeader(USER_ID_HEADER) != null
+                ? request.getHeader(USER_ID_HEADER)
+                : ClientAddress.of(request);
+        long waitNanos = tryAcquire(request.getMethod(), request.getRequestURI(), caller);
+        if (waitNanos == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests\"}");
+    }
+
+    /**
+     * Takes a token from the caller's bucket for the route group of the call.
+     * Also used by the batch endpoint, whose sub-requests never pass through this filter.
+     *
+     * @return 0 if the call may proceed, otherwise nanoseconds until a token is available
+     */
+    public long tryAcquire(String method, String path, String caller) {
+        RouteGroup group = RouteGroup.of(method, path);
+        RateLimitProperties.Limit limit = properties.getGroups().getOrDefault(group, new RateLimitProperties.Limit());
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(group + ":" + caller,
+                key -> new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond(), now));
+
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            log.debug("Rate limit exceeded for {} on {}", caller, group);
+            meterRegistry.counter("gateway.rate.limit.rejected", "group", group.name()).increment();
+        }
+        return waitNanos;
+    }
+}
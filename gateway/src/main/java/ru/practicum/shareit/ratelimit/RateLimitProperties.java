@@ -0,0 +1,27 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private long maxBuckets = 1_000_000;
+    // A bucket idle longer than it takes to refill is full again, so dropping it loses nothing
+    private Duration idleEviction = Duration.ofMinutes(5);
+    private Map<RouteGroup, Limit> groups = new EnumMap<>(RouteGroup.class);
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private int capacity = 50;
+        private double refillPerSecond = 10;
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.springframework.http.HttpMethod;
+
+public enum RouteGroup {
+    SEARCH,
+    BOOKING_WRITE,
+    WRITE,
+    READ;
+
+    public static RouteGroup of(String method, String path) {
+        boolean read = HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+        if (read) {
+            return path.startsWith("/items/search") ? SEARCH : READ;
+        }
+        return path.startsWith("/bookings") ? BOOKING_WRITE : WRITE;
+    }
+}
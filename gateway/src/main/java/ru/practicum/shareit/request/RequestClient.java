@@ -4,12 +4,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.Hedger;
+import ru.practicum.shareit.client.UpstreamGuards;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -18,12 +22,16 @@ public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory shareitRequestFactory, UpstreamGuards upstreamGuards,
+                         Hedger hedger) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> shareitRequestFactory)
+                        .build(),
+                upstreamGuards.get("requests"),
+                hedger
         );
     }
 
@@ -43,6 +51,14 @@ public class RequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> getItemRequestsAfter(long userId, int size, LocalDateTime lastCreated, long lastId) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+        parameters.put("lastCreated", lastCreated);
+        parameters.put("lastId", lastId);
+        return get("/all?size={size}&lastCreated={lastCreated}&lastId={lastId}", userId, parameters);
+    }
+
     public ResponseEntity<Object> getItemRequest(long userId, long requestId) {
         return get("/" + requestId, userId);
     }
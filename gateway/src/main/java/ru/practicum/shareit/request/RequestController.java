@@ -5,6 +5,7 @@ import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -19,6 +20,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.time.LocalDateTime;
+
 @Controller
 @RequestMapping(path = "/requests")
 @RequiredArgsConstructor
@@ -44,8 +47,15 @@ public class RequestController {
     @GetMapping("/all")
     public ResponseEntity<Object> getItemRequestsPageable(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                           @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                                          @Positive @RequestParam(defaultValue = "10") int size) {
-        log.info("Get requests with userId = {}, from = {}, size = {}", userId, from, size);
+                                                          @Positive @RequestParam(defaultValue = "10") int size,
+                                                          @RequestParam(required = false)
+                                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime lastCreated,
+                                                          @Positive @RequestParam(required = false) Long lastId) {
+        log.info("Get requests with userId = {}, from = {}, size = {}, lastCreated = {}, lastId = {}",
+                userId, from, size, lastCreated, lastId);
+        if (lastCreated != null && lastId != null) {
+            return client.getItemRequestsAfter(userId, size, lastCreated, lastId);
+        }
         return client.getItemRequestsPageable(userId, from, size);
     }
 
@@ -4,10 +4,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.Hedger;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.UpstreamGuards;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @Service
@@ -16,12 +20,18 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory shareitRequestFactory, UpstreamGuards upstreamGuards,
+                      ResponseCache responseCache, RequestCoalescer requestCoalescer, Hedger hedger) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> shareitRequestFactory)
+                        .build(),
+                upstreamGuards.get("users"),
+                responseCache,
+                requestCoalescer,
+                hedger
         );
     }
 
@@ -34,7 +44,7 @@ public class UserClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getUser(long userId) {
-        return get("/" + userId);
+        return getCached("/" + userId, null, null);
     }
 
     public ResponseEntity<Object> getAllUsers() {
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.balancer;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class HashRingTest {
+    private final List<ServerInstance> instances = instances(3);
+    private final HashRing ring = new HashRing(instances, 100, 1.25);
+
+    @Test
+    void choose_whenSameKey_thenSameInstance() {
+        ServerInstance owner = ring.choose("user:42");
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(ring.choose("user:42")).isSameAs(owner);
+        }
+    }
+
+    @Test
+    void choose_whenManyKeys_thenSpreadOverAllInstances() {
+        Map<ServerInstance, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            counts.merge(ring.choose("user:" + i), 1, Integer::sum);
+        }
+
+        assertThat(counts).hasSize(3);
+        assertThat(counts.values()).allMatch(count -> count > 700);
+    }
+
+    @Test
+    void choose_whenOwnerOverloaded_thenNextInstance() {
+        ServerInstance owner = ring.choose("item:7");
+        IntStream.range(0, 10).forEach(i -> owner.start());
+
+        assertThat(ring.choose("item:7")).isNotSameAs(owner);
+    }
+
+    @Test
+    void choose_whenOwnerUnavailable_thenAnotherInstance() {
+        ServerInstance owner = ring.choose("item:7");
+        owner.setHealthy(false);
+
+        assertThat(ring.choose("item:7")).isNotSameAs(owner).isNotNull();
+    }
+
+    @Test
+    void choose_whenNothingAvailable_thenNull() {
+        instances.forEach(instance -> instance.setHealthy(false));
+
+        assertThat(ring.choose("item:7")).isNull();
+    }
+
+    @Test
+    void choose_whenInstanceAdded_thenOnlyKeysMovingToItChangeOwner() {
+        List<ServerInstance> grown = instances(4);
+        HashRing grownRing = new HashRing(grown, 100, 1.25);
+        URI added = grown.get(3).getBaseUri();
+
+        for (int i = 0; i < 1000; i++) {
+            URI before = ring.choose("user:" + i).getBaseUri();
+            URI after = grownRing.choose("user:" + i).getBaseUri();
+            assertThat(after).isIn(before, added);
+        }
+    }
+
+    private static List<ServerInstance> instances(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new ServerInstance(URI.create("http://server-" + i + ":9090")))
+                .toList();
+    }
+}
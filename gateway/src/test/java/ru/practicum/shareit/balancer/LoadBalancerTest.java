@@ -0,0 +1,162 @@
+package ru.practicum.shareit.balancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LoadBalancerTest {
+    private static final URI FIRST = URI.create("http://server-1:9090");
+    private static final URI SECOND = URI.create("http://server-2:9090");
+
+    @Test
+    void isEnabled_whenSingleServer_thenFalse() {
+        assertThat(balancer(List.of(), LoadBalancerProperties.Strategy.LEAST_OUTSTANDING).isEnabled()).isFalse();
+        assertThat(balancer(List.of(FIRST, SECOND), LoadBalancerProperties.Strategy.LEAST_OUTSTANDING).isEnabled())
+                .isTrue();
+    }
+
+    @Test
+    void choose_whenLeastOutstanding_thenPicksIdleInstance() {
+        LoadBalancer balancer = balancer(List.of(FIRST, SECOND), LoadBalancerProperties.Strategy.LEAST_OUTSTANDING);
+        instance(balancer, FIRST).start();
+
+        assertThat(balancer.choose(null).getBaseUri()).isEqualTo(SECOND);
+    }
+
+    @Test
+    void choose_whenPowerOfTwoChoices_thenNeverPicksBusierOfTwo() {
+        LoadBalancer balancer = balancer(List.of(FIRST, SECOND), LoadBalancerProperties.Strategy.POWER_OF_TWO_CHOICES);
+        instance(balancer, SECOND).start();
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(balancer.choose(null).getBaseUri()).isEqualTo(FIRST);
+        }
+    }
+
+    @Test
+    void intercept_thenRewritesToInstanceAndKeepsPathAndQuery() throws IOException {
+        LoadBalancer balancer = balancer(List.of(FIRST, SECOND), LoadBalancerProperties.Strategy.LEAST_OUTSTANDING);
+        instance(balancer, FIRST).start();
+        List<URI> sent = new ArrayList<>();
+
+        balancer.intercept(request("/items/search?text=drill"), new byte[0], recording(sent, HttpStatus.OK)).close();
+
+        assertThat(sent).containsExactly(URI.create("http://server-2:9090/items/search?text=drill"));
+        assertThat(instance(balancer, SECOND).getOutstanding()).isZero();
+    }
+
+    @Test
+    void intercept_thenCountsCallAsOutstandingUntilBodyClosed() throws IOException {
+        LoadBalancer balancer = balancer(List.of(FIRST, SECOND), LoadBalancerProperties.Strategy.LEAST_OUTSTANDING);
+
+        ClientHttpResponse response = balancer.intercept(request("/items"), new byte[0],
+                recording(new ArrayList<>(), HttpStatus.OK));
+
+        assertThat(instance(balancer, FIRST).getOutstanding()).isEqualTo(1);
+        response.close();
+        response.close();
+        assertThat(instance(balancer, FIRST).getOutstanding()).isZero();
+    }
+
+    @Test
+    void intercept_whenCallFails_thenReleasesInstanceAtOnce() {
+        LoadBalancer balancer = balancer(List.of(FIRST, SECOND), LoadBalancerProperties.Strategy.LEAST_OUTSTANDING);
+
+        assertThatThrownBy(() -> balancer.intercept(request("/items"), new byte[0], (request, body) -> {
+            throw new IOException("Connection reset");
+        })).isInstanceOf(IOException.class);
+
+        assertThat(instance(balancer, FIRST).getOutstanding()).isZero();
+    }
+
+    @Test
+    void intercept_whenInstanceKeepsFailing_thenEjectsIt() throws IOException {
+        LoadBalancer balancer = balancer(List.of(FIRST, SECOND), LoadBalancerProperties.Strategy.LEAST_OUTSTANDING);
+        List<URI> sent = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            balancer.intercept(request("/users/1"), new byte[0], recording(sent, HttpStatus.SERVICE_UNAVAILABLE)).close();
+        }
+
+        assertThat(instance(balancer, FIRST).isEjected()).isTrue();
+        assertThat(balancer.choose(null).getBaseUri()).isEqualTo(SECOND);
+    }
+
+    @Test
+    void intercept_whenHedge_thenAvoidsPrimaryInstanceEvenWhenIdle() {
+        LoadBalancer balancer = balancer(List.of(FIRST, SECOND), LoadBalancerProperties.Strategy.CONSISTENT_HASH);
+        List<URI> sent = new ArrayList<>();
+        LoadBalancer.HedgedCall call = new LoadBalancer.HedgedCall();
+        call.primary(() -> intercept(balancer, request("/items/7"), recording(sent, HttpStatus.OK)));
+        URI primary = URI.create(sent.get(0).getScheme() + "://" + sent.get(0).getAuthority());
+        // The other instance is busier, so least outstanding alone would pick the primary's again
+        instance(balancer, primary.equals(FIRST) ? SECOND : FIRST).start();
+
+        call.hedge(() -> intercept(balancer, request("/items/7"), recording(sent, HttpStatus.OK)));
+
+        assertThat(sent.get(1).getAuthority()).isNotEqualTo(primary.getAuthority());
+    }
+
+    @Test
+    void affinityKey_whenItemDetail_thenKeyedOnItem() {
+        MockClientHttpRequest item = request("/items/42");
+        item.getHeaders().set("X-Sharer-User-Id", "7");
+        MockClientHttpRequest bookings = request("/bookings");
+        bookings.getHeaders().set("X-Sharer-User-Id", "7");
+
+        assertThat(LoadBalancer.affinityKey(item)).isEqualTo("item:42");
+        assertThat(LoadBalancer.affinityKey(bookings)).isEqualTo("user:7");
+        assertThat(LoadBalancer.affinityKey(request("/users"))).isNull();
+    }
+
+    private static LoadBalancer balancer(List<URI> instances, LoadBalancerProperties.Strategy strategy) {
+        LoadBalancerProperties properties = new LoadBalancerProperties();
+        properties.setInstances(instances);
+        properties.setStrategy(strategy);
+        properties.setEjectAfterFailures(3);
+        properties.setEjectionDuration(Duration.ofMinutes(1));
+        return new LoadBalancer("http://localhost:9090", properties, new RestTemplateBuilder(),
+                new SimpleMeterRegistry());
+    }
+
+    private static ClientHttpResponse intercept(LoadBalancer balancer, MockClientHttpRequest request,
+                                                ClientHttpRequestExecution execution) {
+        try {
+            return balancer.intercept(request, new byte[0], execution);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ServerInstance instance(LoadBalancer balancer, URI baseUri) {
+        return balancer.getInstances().stream()
+                .filter(instance -> instance.getBaseUri().equals(baseUri))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static MockClientHttpRequest request(String pathAndQuery) {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create("http://localhost:9090" + pathAndQuery));
+    }
+
+    private static ClientHttpRequestExecution recording(List<URI> sent, HttpStatus status) {
+        return (request, body) -> {
+            sent.add(request.getURI());
+            return new MockClientHttpResponse(new byte[0], status);
+        };
+    }
+}
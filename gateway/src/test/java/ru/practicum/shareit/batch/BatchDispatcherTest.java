@@ -0,0 +1,116 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.batch.dto.SubRequestDto;
+import ru.practicum.shareit.batch.dto.SubResponseDto;
+import ru.practicum.shareit.ratelimit.RateLimitFilter;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchDispatcherTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private BatchRoutes routes;
+
+    @Mock
+    private ObjectProvider<RateLimitFilter> rateLimiterProvider;
+
+    @Mock
+    private RateLimitFilter rateLimiter;
+
+    private BatchDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void dispatch_thenAnswersInRequestOrderWithRelayedBodies() {
+        dispatcher = dispatcher(Duration.ofSeconds(5), null);
+        when(routes.invoke(HttpMethod.GET, "/users/1", 7L, null)).thenReturn(ResponseEntity.ok(
+                new InputStreamResource(new ByteArrayInputStream("{\"id\":1}".getBytes(StandardCharsets.UTF_8)))));
+        when(routes.invoke(HttpMethod.DELETE, "/items/2", 7L, null)).thenReturn(ResponseEntity.noContent().build());
+
+        List<SubResponseDto> responses = dispatcher.dispatch(List.of(
+                request("a", "GET", "/users/1"), request("b", "DELETE", "/items/2")), 7L, "10.0.0.1");
+
+        assertThat(responses).extracting(SubResponseDto::getId).containsExactly("a", "b");
+        assertThat(responses.get(0).getStatus()).isEqualTo(200);
+        assertThat(responses.get(0).getBody().get("id").asInt()).isEqualTo(1);
+        assertThat(responses.get(1).getStatus()).isEqualTo(204);
+        assertThat(responses.get(1).getBody()).isNull();
+    }
+
+    @Test
+    void dispatch_whenRouteRejectsSubRequest_thenReportsItsStatus() {
+        dispatcher = dispatcher(Duration.ofSeconds(5), null);
+        when(routes.invoke(any(), any(), any(), any()))
+                .thenThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be positive"));
+
+        SubResponseDto response = dispatcher.dispatch(List.of(request("a", "GET", "/items?size=0")), 7L, "10.0.0.1").get(0);
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getBody().get("error").asText()).isEqualTo("size must be positive");
+    }
+
+    @Test
+    void dispatch_whenDeadlinePasses_thenTimesOutUnfinishedSubRequests() {
+        dispatcher = dispatcher(Duration.ofMillis(100), null);
+        when(routes.invoke(any(), any(), any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return ResponseEntity.ok().build();
+        });
+
+        long start = System.nanoTime();
+        SubResponseDto response = dispatcher.dispatch(List.of(request("a", "GET", "/users")), null, "10.0.0.1").get(0);
+
+        assertThat(response.getStatus()).isEqualTo(504);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void dispatch_whenCallerOutOfTokens_thenRejectsWithoutCalling() {
+        dispatcher = dispatcher(Duration.ofSeconds(5), rateLimiter);
+        when(rateLimiter.tryAcquire("GET", "/items/search", "10.0.0.1")).thenReturn(1_000_000L);
+
+        SubResponseDto response = dispatcher.dispatch(
+                List.of(request("a", "GET", "/items/search?text=drill")), null, "10.0.0.1").get(0);
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        verifyNoInteractions(routes);
+    }
+
+    private BatchDispatcher dispatcher(Duration timeout, RateLimitFilter limiter) {
+        BatchProperties properties = new BatchProperties();
+        properties.setTimeout(timeout);
+        when(rateLimiterProvider.getIfAvailable()).thenReturn(limiter);
+        return new BatchDispatcher(properties, routes, objectMapper, rateLimiterProvider);
+    }
+
+    private static SubRequestDto request(String id, String method, String path) {
+        return SubRequestDto.builder().id(id).method(method).path(path).build();
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.RequestClient;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchRoutesTest {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Mock
+    private UserClient users;
+
+    @Mock
+    private ItemClient items;
+
+    @Mock
+    private BookingClient bookings;
+
+    @Mock
+    private RequestClient requests;
+
+    private BatchRoutes routes;
+
+    @BeforeEach
+    void setUp() {
+        routes = new BatchRoutes(objectMapper, Validation.buildDefaultValidatorFactory().getValidator(),
+                users, items, bookings, requests);
+    }
+
+    @Test
+    void invoke_whenLiteralPathOverlapsVariable_thenLiteralRouteWins() {
+        ResponseEntity<Object> found = ResponseEntity.ok().build();
+        when(items.search(7L, 0, 5, "cordless drill")).thenReturn(found);
+
+        assertThat(routes.invoke(HttpMethod.GET, "/items/search?text=cordless+drill&size=5", 7L, null)).isSameAs(found);
+        verify(items, never()).getItem(anyLong(), anyLong());
+    }
+
+    @Test
+    void invoke_whenParametersOmitted_thenUsesControllerDefaults() {
+        routes.invoke(HttpMethod.GET, "/bookings/owner", 3L, null);
+
+        verify(bookings).getBookingsForOwner(3L, BookingState.ALL, 0, 10);
+    }
+
+    @Test
+    void invoke_whenKeysetParametersGiven_thenPagesAfterThem() {
+        routes.invoke(HttpMethod.GET, "/requests/all?size=2&lastCreated=2026-01-02T10:15:30&lastId=9", 3L, null);
+
+        verify(requests).getItemRequestsAfter(3L, 2, LocalDateTime.of(2026, 1, 2, 10, 15, 30), 9L);
+    }
+
+    @Test
+    void invoke_whenBodyValid_thenPassesTypedDto() throws Exception {
+        routes.invoke(HttpMethod.POST, "/users", null,
+                objectMapper.readTree("{\"name\":\"Ann\",\"email\":\"ann@example.com\"}"));
+
+        ArgumentCaptor<UserDto> user = ArgumentCaptor.forClass(UserDto.class);
+        verify(users).addUser(user.capture());
+        assertThat(user.getValue().getEmail()).isEqualTo("ann@example.com");
+    }
+
+    @Test
+    void invoke_whenBodyInvalid_thenBadRequestWithoutCall() throws Exception {
+        assertThatThrownBy(() -> routes.invoke(HttpMethod.POST, "/users", null,
+                objectMapper.readTree("{\"name\":\"Ann\",\"email\":\"not-an-email\"}")))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        verify(users, never()).addUser(any());
+    }
+
+    @Test
+    void invoke_whenConstraintOnParameterBroken_thenBadRequest() {
+        assertThatThrownBy(() -> routes.invoke(HttpMethod.GET, "/items?size=0", 1L, null))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> routes.invoke(HttpMethod.GET, "/bookings?state=SOMETIMES", 1L, null))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getReason()).isEqualTo("Unknown state: SOMETIMES"));
+    }
+
+    @Test
+    void invoke_whenUserHeaderMissing_thenBadRequest() {
+        assertThatThrownBy(() -> routes.invoke(HttpMethod.GET, "/items/1", null, null))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    void invoke_whenNoRoute_thenNotFoundOrMethodNotAllowed() {
+        assertThatThrownBy(() -> routes.invoke(HttpMethod.GET, "/items/1/owner", 1L, null))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+        assertThatThrownBy(() -> routes.invoke(HttpMethod.PUT, "/items/1", 1L, null))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.METHOD_NOT_ALLOWED));
+    }
+}
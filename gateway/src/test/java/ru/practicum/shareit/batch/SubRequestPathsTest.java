@@ -0,0 +1,27 @@
+package ru.practicum.shareit.batch;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SubRequestPathsTest {
+    private static final List<String> ALLOWED = List.of("/users", "/items", "/bookings", "/requests");
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/users", "/users/1", "/items/search?text=drill", "/bookings/owner?state=ALL",
+            "/requests/all?from=0&size=10", "/items/search?text=a%2Fb"})
+    void isAllowed_whenApiPath_thenTrue(String path) {
+        assertThat(SubRequestPaths.isAllowed(path, ALLOWED)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/batch", "/%62atch", "/actuator/env", "/%61ctuator/env", "/%2561ctuator",
+            "/users/../actuator", "/users/%2e%2e/actuator", "/users/..;/actuator", "/users;x=1",
+            "//users", "/users//1", "/users%2F1", "/users%5c1", "/usersx", "/users/%0a", "/users/%zz", "users"})
+    void isAllowed_whenOutsideAllowlistOrAmbiguous_thenFalse(String path) {
+        assertThat(SubRequestPaths.isAllowed(path, ALLOWED)).isFalse();
+    }
+}
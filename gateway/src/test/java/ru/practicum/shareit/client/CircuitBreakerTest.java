@@ -0,0 +1,126 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CircuitBreakerTest {
+    private final ResilienceProperties.Limits limits = new ResilienceProperties.Limits();
+    private long now;
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        limits.setSlidingWindowSize(4);
+        limits.setMinimumCalls(4);
+        limits.setFailureRateThreshold(50);
+        limits.setOpenDuration(Duration.ofSeconds(10));
+        limits.setHalfOpenCalls(2);
+        breaker = new CircuitBreaker(limits, () -> now);
+    }
+
+    @Test
+    void onFailure_whenBelowMinimumCalls_thenStaysClosed() {
+        fail(3);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquirePermission()).isNotNull();
+    }
+
+    @Test
+    void onFailure_whenFailureRateReachesThreshold_thenOpens() {
+        succeed(2);
+        fail(2);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isNull();
+    }
+
+    @Test
+    void tryAcquirePermission_whenOpenDurationPassed_thenAdmitsHalfOpenCallsOnly() {
+        open();
+        now += Duration.ofSeconds(10).toNanos();
+
+        CircuitBreaker.Permit first = breaker.tryAcquirePermission();
+        CircuitBreaker.Permit second = breaker.tryAcquirePermission();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(first.grantedIn()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquirePermission()).isNull();
+    }
+
+    @Test
+    void onSuccess_whenAllHalfOpenCallsSucceed_thenCloses() {
+        open();
+        now += Duration.ofSeconds(10).toNanos();
+        CircuitBreaker.Permit first = breaker.tryAcquirePermission();
+        CircuitBreaker.Permit second = breaker.tryAcquirePermission();
+
+        breaker.onSuccess(first);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.onSuccess(second);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getFailureRate()).isZero();
+    }
+
+    @Test
+    void onFailure_whenHalfOpen_thenReopens() {
+        open();
+        now += Duration.ofSeconds(10).toNanos();
+        CircuitBreaker.Permit trial = breaker.tryAcquirePermission();
+
+        breaker.onFailure(trial);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isNull();
+    }
+
+    @Test
+    void onSuccess_whenPermitGrantedBeforeStateChange_thenIgnored() {
+        CircuitBreaker.Permit closedPermit = breaker.tryAcquirePermission();
+        open();
+        now += Duration.ofSeconds(10).toNanos();
+        CircuitBreaker.Permit trial = breaker.tryAcquirePermission();
+
+        breaker.onSuccess(closedPermit);
+        breaker.onSuccess(trial);
+
+        assertThat(closedPermit.grantedIn()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    @Test
+    void onFailure_whenPermitGrantedBeforeOpening_thenDoesNotReopenHalfOpenBreaker() {
+        CircuitBreaker.Permit closedPermit = breaker.tryAcquirePermission();
+        open();
+        now += Duration.ofSeconds(10).toNanos();
+        breaker.tryAcquirePermission();
+
+        breaker.onFailure(closedPermit);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    private void open() {
+        fail(4);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private void succeed(int calls) {
+        for (int i = 0; i < calls; i++) {
+            breaker.onSuccess(breaker.tryAcquirePermission());
+        }
+    }
+
+    private void fail(int calls) {
+        for (int i = 0; i < calls; i++) {
+            breaker.onFailure(breaker.tryAcquirePermission());
+        }
+    }
+}
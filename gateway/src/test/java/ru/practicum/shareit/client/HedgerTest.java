@@ -0,0 +1,190 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.balancer.LoadBalancer;
+import ru.practicum.shareit.balancer.LoadBalancerProperties;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HedgerTest {
+    private static final URI ITEM = URI.create("http://localhost:9090/items/1");
+    private static final URI BOOKINGS = URI.create("http://localhost:9090/bookings");
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RoutingProperties properties = routingProperties();
+
+    @Test
+    void policy_whenSingleServerInstance_thenOnlyDeadlinesApply() {
+        Hedger hedger = new Hedger(properties, new RoutePolicies(properties), balancer(List.of()), meterRegistry);
+
+        RoutePolicies.Policy bookings = hedger.policy(HttpMethod.POST, BOOKINGS);
+        assertThat(hedger.policy(HttpMethod.GET, ITEM)).isNull();
+        assertThat(bookings).isNotNull();
+        assertThat(hedger.isHedged(bookings)).isFalse();
+    }
+
+    @Test
+    void policy_whenBalanced_thenHedgesReadsOnly() {
+        Hedger hedger = balancedHedger();
+
+        assertThat(hedger.isHedged(hedger.policy(HttpMethod.GET, ITEM))).isTrue();
+        assertThat(hedger.isHedged(hedger.policy(HttpMethod.POST, BOOKINGS))).isFalse();
+        assertThat(hedger.policy(HttpMethod.PATCH, ITEM)).isNull();
+        assertThat(hedger.policy(HttpMethod.GET, URI.create("http://localhost:9090/users/1"))).isNull();
+    }
+
+    @Test
+    void execute_whenTooFewLatencySamples_thenNoHedge() {
+        Hedger hedger = balancedHedger();
+        RoutePolicies.Policy policy = hedger.policy(HttpMethod.GET, ITEM);
+        ClientHttpResponse primary = mock(ClientHttpResponse.class);
+
+        ClientHttpResponse response = hedger.execute(policy, () -> primary, () -> fail("Hedge sent"));
+
+        assertThat(response).isSameAs(primary);
+        assertThat(policy.getLatency().count()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_whenPrimarySlowerThanP95_thenHedgeWinsAndSlowResponseIsClosed() {
+        Hedger hedger = balancedHedger();
+        RoutePolicies.Policy policy = warmedUp(hedger);
+        ClientHttpResponse slow = mock(ClientHttpResponse.class);
+        ClientHttpResponse fast = mock(ClientHttpResponse.class);
+
+        ClientHttpResponse response = hedger.execute(policy, delayed(slow, 300), () -> fast);
+
+        assertThat(response).isSameAs(fast);
+        verify(slow, timeout(2_000)).close();
+        assertThat(meterRegistry.counter("gateway.hedges", "result", "sent").count()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_whenBudgetSpent_thenWaitsForPrimary() {
+        properties.setHedgeBudgetPercent(0);
+        properties.setHedgeBurst(1);
+        Hedger hedger = balancedHedger();
+        RoutePolicies.Policy policy = warmedUp(hedger);
+        AtomicInteger hedges = new AtomicInteger();
+        ClientHttpResponse slow = mock(ClientHttpResponse.class);
+
+        hedger.execute(policy, delayed(slow, 50), () -> {
+            hedges.incrementAndGet();
+            return mock(ClientHttpResponse.class);
+        });
+        ClientHttpResponse response = hedger.execute(policy, delayed(slow, 50), () -> {
+            hedges.incrementAndGet();
+            return mock(ClientHttpResponse.class);
+        });
+
+        assertThat(response).isSameAs(slow);
+        assertThat(hedges).hasValue(1);
+        assertThat(meterRegistry.counter("gateway.hedges", "result", "suppressed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_whenDeadlinePasses_thenFailsAndInterruptsAttempt() throws InterruptedException {
+        Hedger hedger = new Hedger(properties, new RoutePolicies(properties), balancer(List.of()), meterRegistry);
+        RoutePolicies.Policy policy = hedger.policy(HttpMethod.POST, BOOKINGS);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> hedger.execute(policy, blocking(interrupted), () -> fail("Hedge sent")))
+                .isInstanceOf(ResourceAccessException.class)
+                .hasMessageContaining("Deadline of 200ms exceeded");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void execute_whenHedgeAlsoSlow_thenDeadlineCoversBothAttempts() throws InterruptedException {
+        properties.getPolicies().get("items-read").setDeadline(Duration.ofMillis(200));
+        Hedger hedger = balancedHedger();
+        RoutePolicies.Policy policy = warmedUp(hedger);
+        CountDownLatch interrupted = new CountDownLatch(2);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> hedger.execute(policy, blocking(interrupted), blocking(interrupted)))
+                .isInstanceOf(ResourceAccessException.class);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(meterRegistry.counter("gateway.hedges", "result", "sent").count()).isEqualTo(1);
+        assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private Hedger balancedHedger() {
+        return new Hedger(properties, new RoutePolicies(properties),
+                balancer(List.of(URI.create("http://server-1:9090"), URI.create("http://server-2:9090"))),
+                meterRegistry);
+    }
+
+    private RoutePolicies.Policy warmedUp(Hedger hedger) {
+        RoutePolicies.Policy policy = hedger.policy(HttpMethod.GET, ITEM);
+        for (int i = 0; i < 64; i++) {
+            policy.getLatency().record(Duration.ofMillis(1).toNanos());
+        }
+        return policy;
+    }
+
+    private static Supplier<ClientHttpResponse> delayed(ClientHttpResponse response, long millis) {
+        return () -> {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return response;
+        };
+    }
+
+    // Stands in for a call stuck on the socket; counts down once the deadline interrupts it
+    private static Supplier<ClientHttpResponse> blocking(CountDownLatch interrupted) {
+        return () -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return mock(ClientHttpResponse.class);
+        };
+    }
+
+    private static RoutingProperties routingProperties() {
+        RoutingProperties properties = new RoutingProperties();
+        properties.setHedgeMinSamples(10);
+        properties.setHedgeMinDelay(Duration.ofMillis(1));
+        RoutingProperties.Policy items = new RoutingProperties.Policy();
+        items.setPath("/items/**");
+        items.setHedge(true);
+        properties.getPolicies().put("items-read", items);
+        RoutingProperties.Policy bookings = new RoutingProperties.Policy();
+        bookings.setMethod("POST");
+        bookings.setPath("/bookings");
+        bookings.setDeadline(Duration.ofMillis(200));
+        properties.getPolicies().put("bookings-write", bookings);
+        return properties;
+    }
+
+    private static LoadBalancer balancer(List<URI> instances) {
+        LoadBalancerProperties properties = new LoadBalancerProperties();
+        properties.setInstances(instances);
+        return new LoadBalancer("http://localhost:9090", properties, new RestTemplateBuilder(),
+                new SimpleMeterRegistry());
+    }
+}
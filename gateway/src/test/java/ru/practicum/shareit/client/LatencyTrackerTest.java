@@ -0,0 +1,40 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LatencyTrackerTest {
+    private final LatencyTracker tracker = new LatencyTracker();
+
+    @Test
+    void p95Nanos_whenTooFewSamples_thenUnknown() {
+        for (int i = 0; i < 31; i++) {
+            tracker.record(1_000);
+        }
+
+        assertThat(tracker.count()).isEqualTo(31);
+        assertThat(tracker.p95Nanos()).isEqualTo(-1);
+    }
+
+    @Test
+    void p95Nanos_whenWindowFull_thenNinetyFifthPercentile() {
+        for (int i = 1; i <= 256; i++) {
+            tracker.record(i);
+        }
+
+        assertThat(tracker.p95Nanos()).isEqualTo(244);
+    }
+
+    @Test
+    void p95Nanos_whenOldSamplesOverwritten_thenFollowsRecentCalls() {
+        for (int i = 0; i < 256; i++) {
+            tracker.record(1_000_000);
+        }
+        for (int i = 0; i < 256; i++) {
+            tracker.record(10);
+        }
+
+        assertThat(tracker.p95Nanos()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RequestCoalescerTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void execute_whenConcurrentSameKey_thenOneUpstreamCall() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(true, Duration.ofSeconds(5), meterRegistry);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ResponseEntity<Object> body = ResponseEntity.ok("item");
+
+        CompletableFuture<ResponseEntity<Object>> leader = CompletableFuture.supplyAsync(() ->
+                coalescer.execute("k", () -> {
+                    calls.incrementAndGet();
+                    leaderStarted.countDown();
+                    await(release);
+                    return body;
+                }));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+        CompletableFuture<ResponseEntity<Object>> follower = CompletableFuture.supplyAsync(() ->
+                coalescer.execute("k", () -> {
+                    calls.incrementAndGet();
+                    return ResponseEntity.ok("other");
+                }));
+        awaitCoalesced(1);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(body);
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(body);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void execute_whenLeaderFails_thenFollowersGetErrorAndNextCallGoesUpstream() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(true, Duration.ofSeconds(5), meterRegistry);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ResourceAccessException failure = new ResourceAccessException("server down");
+
+        CompletableFuture<ResponseEntity<Object>> leader = CompletableFuture.supplyAsync(() ->
+                coalescer.execute("k", () -> {
+                    leaderStarted.countDown();
+                    await(release);
+                    throw failure;
+                }));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+        CompletableFuture<ResponseEntity<Object>> follower = CompletableFuture.supplyAsync(() ->
+                coalescer.execute("k", () -> fail("Follower went upstream")));
+        awaitCoalesced(1);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.join()).isInstanceOf(CompletionException.class).hasCause(failure);
+        assertThatThrownBy(() -> follower.join()).isInstanceOf(CompletionException.class).hasCause(failure);
+        assertThat(coalescer.execute("k", () -> ResponseEntity.ok("recovered")).getBody()).isEqualTo("recovered");
+    }
+
+    @Test
+    void execute_whenLeaderSlowerThanFollowerTimeout_thenFollowerGoesUpstream() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(true, Duration.ofMillis(50), meterRegistry);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<ResponseEntity<Object>> leader = CompletableFuture.supplyAsync(() ->
+                coalescer.execute("k", () -> {
+                    leaderStarted.countDown();
+                    await(release);
+                    return ResponseEntity.ok("slow");
+                }));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+
+        ResponseEntity<Object> response = coalescer.execute("k", () -> ResponseEntity.ok("own"));
+
+        assertThat(response.getBody()).isEqualTo("own");
+        assertThat(meterRegistry.counter("gateway.coalescing.requests", "result", "timeout").count()).isEqualTo(1);
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("slow");
+    }
+
+    @Test
+    void execute_whenDisabled_thenEveryCallGoesUpstream() {
+        RequestCoalescer coalescer = new RequestCoalescer(false, Duration.ofSeconds(5), meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        coalescer.execute("k", () -> ResponseEntity.ok(calls.incrementAndGet()));
+        coalescer.execute("k", () -> ResponseEntity.ok(calls.incrementAndGet()));
+
+        assertThat(calls).hasValue(2);
+    }
+
+    private void awaitCoalesced(int followers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("gateway.coalescing.requests", "result", "coalesced").count() < followers
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SmileResponseTest {
+    private final ObjectMapper json = new ObjectMapper();
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+
+    @Test
+    void toJson_whenSmileBodyLargerThanChunk_thenStreamsEquivalentJson() throws IOException {
+        ArrayNode items = json.createArrayNode();
+        for (int i = 0; i < 2000; i++) {
+            items.addObject().put("id", i).put("name", "Drill " + i).put("available", i % 2 == 0);
+        }
+        MockClientHttpResponse upstream = new MockClientHttpResponse(smile.writeValueAsBytes(items), HttpStatus.OK);
+        upstream.getHeaders().setContentType(SmileResponse.SMILE);
+        upstream.getHeaders().setContentLength(1234);
+
+        ClientHttpResponse response = SmileResponse.toJson(upstream);
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(-1);
+        JsonNode body = json.readTree(response.getBody());
+        assertThat(body).isEqualTo(items);
+    }
+
+    @Test
+    void toJson_whenReadByteByByte_thenSameJson() throws IOException {
+        MockClientHttpResponse upstream = new MockClientHttpResponse(
+                smile.writeValueAsBytes(json.createObjectNode().put("id", 1).put("name", "Drill")), HttpStatus.OK);
+        upstream.getHeaders().setContentType(SmileResponse.SMILE);
+
+        InputStream body = SmileResponse.toJson(upstream).getBody();
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        for (int b = body.read(); b >= 0; b = body.read()) {
+            copy.write(b);
+        }
+
+        assertThat(copy.toString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":1,\"name\":\"Drill\"}");
+        assertThat(body.read()).isEqualTo(-1);
+    }
+
+    @Test
+    void toJson_whenJsonBody_thenReturnsResponseUnchanged() {
+        MockClientHttpResponse upstream = new MockClientHttpResponse("{}".getBytes(), HttpStatus.OK);
+        upstream.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        assertThat(SmileResponse.toJson(upstream)).isSameAs(upstream);
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class UpstreamGuardTest {
+    private UpstreamGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        ResilienceProperties.Limits limits = new ResilienceProperties.Limits();
+        limits.setMaxConcurrentCalls(1);
+        limits.setMaxWait(Duration.ofMillis(1));
+        limits.setSlidingWindowSize(1);
+        limits.setMinimumCalls(1);
+        limits.setOpenDuration(Duration.ZERO);
+        limits.setHalfOpenCalls(2);
+        guard = new UpstreamGuard("items", limits, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void acquire_whenBulkheadFull_thenRejectsAndFreesNothing() {
+        CircuitBreaker.Permit permit = guard.acquire();
+
+        assertThatThrownBy(() -> guard.acquire())
+                .isInstanceOf(UpstreamUnavailableException.class)
+                .hasMessageContaining("Bulkhead");
+
+        guard.release(permit, false);
+        assertThat(guard.getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void acquire_whenBulkheadRejectsDuringHalfOpen_thenTrialPermitsAreKept() {
+        guard.release(guard.acquire(), true);
+        assertThat(guard.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        CircuitBreaker.Permit firstTrial = guard.acquire();
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> guard.acquire())
+                    .isInstanceOf(UpstreamUnavailableException.class)
+                    .hasMessageContaining("Bulkhead");
+        }
+        guard.release(firstTrial, false);
+        guard.release(guard.acquire(), false);
+
+        assertThat(guard.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void acquire_whenBreakerOpen_thenReturnsBulkheadSlot() {
+        ResilienceProperties.Limits limits = new ResilienceProperties.Limits();
+        limits.setMaxConcurrentCalls(1);
+        limits.setSlidingWindowSize(1);
+        limits.setMinimumCalls(1);
+        limits.setOpenDuration(Duration.ofMinutes(1));
+        UpstreamGuard openGuard = new UpstreamGuard("users", limits, new SimpleMeterRegistry());
+        openGuard.release(openGuard.acquire(), true);
+
+        assertThatThrownBy(openGuard::acquire)
+                .isInstanceOf(UpstreamUnavailableException.class)
+                .hasMessageContaining("Circuit breaker");
+        assertThat(openGuard.getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.compression;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CompressionFilterTest {
+    private final CompressionFilter filter = new CompressionFilter(new CompressionProperties());
+
+    @Test
+    void doFilter_whenBodyAboveThreshold_thenGzipped() throws ServletException, IOException {
+        byte[] body = body(10_000);
+        MockHttpServletResponse response = filter(gzipRequest(), MediaType.APPLICATION_JSON_VALUE, body);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_LENGTH)).isNull();
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray())).readAllBytes())
+                .isEqualTo(body);
+    }
+
+    @Test
+    void doFilter_whenBodyBelowThreshold_thenPassedThroughWithLength() throws ServletException, IOException {
+        byte[] body = body(100);
+        MockHttpServletResponse response = filter(gzipRequest(), MediaType.APPLICATION_JSON_VALUE, body);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentLength()).isEqualTo(100);
+        assertThat(response.getContentAsByteArray()).isEqualTo(body);
+    }
+
+    @Test
+    void doFilter_whenTypeNotCompressible_thenPassedThrough() throws ServletException, IOException {
+        byte[] body = body(10_000);
+        MockHttpServletResponse response = filter(gzipRequest(), MediaType.IMAGE_PNG_VALUE, body);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsByteArray()).isEqualTo(body);
+    }
+
+    @Test
+    void doFilter_whenClientDoesNotAcceptGzip_thenPassedThrough() throws ServletException, IOException {
+        byte[] body = body(10_000);
+        MockHttpServletResponse response = filter(new MockHttpServletRequest("GET", "/items"),
+                MediaType.APPLICATION_JSON_VALUE, body);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getContentAsByteArray()).isEqualTo(body);
+    }
+
+    @Test
+    void doFilter_whenWrittenByteByByte_thenGzipped() throws ServletException, IOException {
+        byte[] body = body(10_000);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            for (byte b : body) {
+                res.getOutputStream().write(b);
+            }
+        };
+
+        filter.doFilter(gzipRequest(), response, chain);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray())).readAllBytes())
+                .isEqualTo(body);
+    }
+
+    @Test
+    void doFilter_whenWriteListenerSet_thenRegisteredOnContainerStream() throws ServletException, IOException {
+        ServletOutputStream containerStream = mock(ServletOutputStream.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(containerStream);
+        WriteListener listener = mock(WriteListener.class);
+
+        filter.doFilter(gzipRequest(), response, (req, res) -> res.getOutputStream().setWriteListener(listener));
+
+        verify(containerStream).setWriteListener(listener);
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request, String contentType, byte[] body)
+            throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            res.setContentType(contentType);
+            res.getOutputStream().write(body);
+        };
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest gzipRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        return request;
+    }
+
+    private static byte[] body(int size) {
+        byte[] body = new byte[size];
+        Arrays.fill(body, (byte) 'a');
+        return body;
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DeflatingOutputStreamTest {
+    private final byte[] body = sampleBody();
+
+    @Test
+    void finish_whenGzip_thenReadableByGzipInputStream() throws IOException {
+        DeflaterPool pool = new DeflaterPool(Deflater.DEFAULT_COMPRESSION, true, 1);
+
+        byte[] compressed = compress(pool, true, body);
+
+        assertThat(compressed.length).isLessThan(body.length);
+        // GZIPInputStream checks the header as well as the CRC32 and ISIZE trailer
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(compressed)).readAllBytes()).isEqualTo(body);
+    }
+
+    @Test
+    void finish_whenDeflate_thenReadableByInflaterInputStream() throws IOException {
+        DeflaterPool pool = new DeflaterPool(Deflater.DEFAULT_COMPRESSION, false, 1);
+
+        byte[] compressed = compress(pool, false, body);
+
+        assertThat(new InflaterInputStream(new ByteArrayInputStream(compressed)).readAllBytes()).isEqualTo(body);
+    }
+
+    @Test
+    void finish_whenDeflaterReused_thenEachStreamIsComplete() throws IOException {
+        DeflaterPool pool = new DeflaterPool(Deflater.DEFAULT_COMPRESSION, true, 1);
+        byte[] other = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+        byte[] first = compress(pool, true, body);
+        byte[] second = compress(pool, true, other);
+
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(first)).readAllBytes()).isEqualTo(body);
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(second)).readAllBytes()).isEqualTo(other);
+    }
+
+    @Test
+    void finish_thenDeflaterGoesBackToPool() throws IOException {
+        DeflaterPool pool = new DeflaterPool(Deflater.DEFAULT_COMPRESSION, true, 1);
+        Deflater deflater = pool.borrow();
+        pool.release(deflater);
+
+        compress(pool, true, body);
+
+        assertThat(pool.borrow()).isSameAs(deflater);
+    }
+
+    @Test
+    void abandon_thenDeflaterGoesBackToPoolWithoutTrailer() throws IOException {
+        DeflaterPool pool = new DeflaterPool(Deflater.DEFAULT_COMPRESSION, true, 1);
+        Deflater deflater = pool.borrow();
+        pool.release(deflater);
+        DeflatingOutputStream stream = new DeflatingOutputStream(new ByteArrayOutputStream(), pool, true);
+        stream.write(body, 0, body.length);
+
+        stream.abandon();
+
+        assertThat(pool.borrow()).isSameAs(deflater);
+    }
+
+    private static byte[] compress(DeflaterPool pool, boolean gzip, byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DeflatingOutputStream stream = new DeflatingOutputStream(out, pool, gzip);
+        // Uneven writes so the input spans several deflate calls and output buffers
+        for (int off = 0; off < data.length; off += 1000) {
+            stream.write(data, off, Math.min(1000, data.length - off));
+        }
+        stream.finish();
+        return out.toByteArray();
+    }
+
+    private static byte[] sampleBody() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 2000; i++) {
+            json.append("{\"id\":").append(i).append(",\"name\":\"Item ").append(i * 31 % 997)
+                    .append("\",\"available\":").append(i % 3 == 0).append("},");
+        }
+        json.setCharAt(json.length() - 1, ']');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
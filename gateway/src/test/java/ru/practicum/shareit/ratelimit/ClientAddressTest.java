@@ -0,0 +1,36 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ClientAddressTest {
+
+    @Test
+    void of_whenLoopbackWithForwardedFor_thenForwardedAddress() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("127.0.0.1");
+        request.addHeader(ClientAddress.FORWARDED_FOR_HEADER, "10.0.0.7");
+
+        assertThat(ClientAddress.of(request)).isEqualTo("10.0.0.7");
+    }
+
+    @Test
+    void of_whenSeveralHops_thenLastHop() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("0:0:0:0:0:0:0:1");
+        request.addHeader(ClientAddress.FORWARDED_FOR_HEADER, "1.2.3.4, 10.0.0.7");
+
+        assertThat(ClientAddress.of(request)).isEqualTo("10.0.0.7");
+    }
+
+    @Test
+    void of_whenRemoteCallerSendsForwardedFor_thenIgnored() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.7");
+        request.addHeader(ClientAddress.FORWARDED_FOR_HEADER, "1.2.3.4");
+
+        assertThat(ClientAddress.of(request)).isEqualTo("10.0.0.7");
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_whenFull_thenAllowsBurstOfCapacity() {
+        TokenBucket bucket = new TokenBucket(5, 1, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(0)).isZero();
+        }
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void tryAcquire_whenEmpty_thenRefillsOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(2, 2, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        assertThat(bucket.tryAcquire(SECOND / 4)).isEqualTo(SECOND / 4);
+        assertThat(bucket.tryAcquire(SECOND / 2)).isZero();
+        assertThat(bucket.tryAcquire(SECOND / 2)).isEqualTo(SECOND / 2);
+    }
+
+    @Test
+    void tryAcquire_whenIdleLong_thenRefillsOnlyUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 10, 0);
+        long later = 60 * SECOND;
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryAcquire(later)).isZero();
+        }
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+
+    @Test
+    void tryAcquire_whenRejected_thenDoesNotConsumeToken() {
+        TokenBucket bucket = new TokenBucket(1, 1, 0);
+        bucket.tryAcquire(0);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(bucket.tryAcquire(SECOND / 2)).isEqualTo(SECOND / 2);
+        }
+        assertThat(bucket.tryAcquire(SECOND)).isZero();
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latencies in microseconds, measured from the moment a request was scheduled to start rather than
+ * when it was actually sent, so a stalled system cannot hide its queueing delay.
+ */
+public class EndpointStats {
+    private final Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final AtomicLong errors = new AtomicLong();
+
+    public void record(long latencyNanos, boolean success) {
+        latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), latency.getHighestTrackableValue()));
+        if (!success) {
+            errors.incrementAndGet();
+        }
+    }
+
+    public void reset() {
+        latency.reset();
+        errors.set(0);
+    }
+
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+}
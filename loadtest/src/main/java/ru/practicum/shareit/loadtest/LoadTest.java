@@ -0,0 +1,161 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: requests are scheduled at a fixed arrival rate whether or not earlier
+ * ones have finished, so slowdowns show up as latency instead of as a lower request rate.
+ */
+@Slf4j
+public class LoadTest {
+    private final LoadTestOptions options;
+    private final Scenario scenario;
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final AtomicLong dropped = new AtomicLong();
+
+    public LoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.scenario = new Scenario(options.getGatewayUrl(), options.getMix(), options.getRandomSeed());
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (ServiceLauncher launcher = new ServiceLauncher()) {
+            if (options.isStartServices()) {
+                launcher.start(options);
+            }
+            new LoadTest(options).run();
+        }
+    }
+
+    public void run() throws IOException, InterruptedException {
+        seed();
+        log.info("Warming up for {}", options.getWarmup());
+        drive(options.getWarmup());
+        stats.values().forEach(EndpointStats::reset);
+        dropped.set(0);
+        log.info("Running at {} req/s for {}", options.getRatePerSecond(), options.getDuration());
+        drive(options.getDuration());
+        report(options.getDuration());
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        for (int i = 0; i < options.getSeedUsers(); i++) {
+            sendNow(scenario.signup());
+        }
+        for (Long user : scenario.users()) {
+            sendNow(scenario.createItem(user));
+        }
+    }
+
+    private void sendNow(Scenario.Call call) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(call.request(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 == 2 && call.onSuccess() != null) {
+            call.onSuccess().accept(scenario.parse(response.body()));
+        }
+    }
+
+    private void drive(Duration duration) throws InterruptedException {
+        long interval = (long) (1_000_000_000L / options.getRatePerSecond());
+        Semaphore inFlight = new Semaphore(options.getMaxInFlight());
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!inFlight.tryAcquire()) {
+                dropped.incrementAndGet();
+                continue;
+            }
+            Scenario.Call call;
+            try {
+                call = scenario.next();
+            } catch (RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
+            EndpointStats endpoint = stats.get(call.operation());
+            // The permit must come back even if recording or the follow-up callback throws,
+            // otherwise the final drain below waits forever
+            client.sendAsync(call.request(), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        try {
+                            long latency = System.nanoTime() - intended;
+                            boolean success = error == null && response.statusCode() / 100 == 2;
+                            endpoint.record(latency, success);
+                            if (success && call.onSuccess() != null) {
+                                JsonNode body = scenario.parse(response.body());
+                                if (body != null) {
+                                    call.onSuccess().accept(body);
+                                }
+                            }
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+        }
+        inFlight.acquire(options.getMaxInFlight());
+    }
+
+    private void report(Duration duration) throws IOException {
+        double seconds = duration.toMillis() / 1000.0;
+        String header = String.format("%-24s %8s %7s %9s %9s %9s %9s %9s %9s",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        System.out.println(header);
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(options.getReport()))) {
+            csv.println("endpoint,count,errors,throughput,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+            for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+                Histogram h = entry.getValue().getLatency();
+                if (h.getTotalCount() == 0) {
+                    continue;
+                }
+                String endpoint = entry.getKey().endpoint();
+                long count = h.getTotalCount();
+                System.out.printf("%-24s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", endpoint, count,
+                        entry.getValue().getErrors(), count / seconds, ms(h, 50), ms(h, 90), ms(h, 99), ms(h, 99.9),
+                        h.getMaxValue() / 1000.0);
+                csv.printf(Locale.ROOT, "%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%.2f%n", endpoint, count,
+                        entry.getValue().getErrors(), count / seconds, ms(h, 50), ms(h, 90), ms(h, 99), ms(h, 99.9),
+                        h.getMaxValue() / 1000.0);
+            }
+        }
+        if (dropped.get() > 0) {
+            System.out.printf("%d requests were not sent because %d were already in flight%n",
+                    dropped.get(), options.getMaxInFlight());
+        }
+        log.info("Report written to {}", options.getReport());
+    }
+
+    private static double ms(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
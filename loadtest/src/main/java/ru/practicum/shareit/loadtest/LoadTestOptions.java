@@ -0,0 +1,70 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options in --name=value form; see README for the full list and defaults.
+ */
+@Getter
+public class LoadTestOptions {
+    private final boolean startServices;
+    private final boolean serverWarmup;
+    private final Path serverJar;
+    private final Path gatewayJar;
+    private final String gatewayUrl;
+    private final String serverHealthUrl;
+    private final double ratePerSecond;
+    private final Duration duration;
+    private final Duration warmup;
+    private final int seedUsers;
+    private final int maxInFlight;
+    private final long randomSeed;
+    private final Map<Operation, Integer> mix;
+    private final Path report;
+
+    private LoadTestOptions(Map<String, String> values) {
+        startServices = Boolean.parseBoolean(values.getOrDefault("start", "true"));
+        serverWarmup = Boolean.parseBoolean(values.getOrDefault("server-warmup", "true"));
+        serverJar = Path.of(values.getOrDefault("server-jar", "server/target/shareit-server-0.0.1-SNAPSHOT-exec.jar"));
+        gatewayJar = Path.of(values.getOrDefault("gateway-jar", "gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar"));
+        gatewayUrl = values.getOrDefault("gateway-url", "http://localhost:8080");
+        serverHealthUrl = values.getOrDefault("server-health-url", "http://localhost:9090/actuator/health");
+        ratePerSecond = Double.parseDouble(values.getOrDefault("rate", "100"));
+        duration = Duration.parse("PT" + values.getOrDefault("duration", "60s"));
+        warmup = Duration.parse("PT" + values.getOrDefault("warmup", "10s"));
+        seedUsers = Integer.parseInt(values.getOrDefault("seed-users", "50"));
+        maxInFlight = Integer.parseInt(values.getOrDefault("max-in-flight", "2000"));
+        randomSeed = Long.parseLong(values.getOrDefault("random-seed", "42"));
+        mix = parseMix(values.getOrDefault("mix",
+                "signup:5,create-item:10,search:30,create-booking:15,approve-booking:10,"
+                        + "list-bookings:15,list-owner-bookings:15"));
+        report = Path.of(values.getOrDefault("report", "loadtest-report.csv"));
+    }
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new LoadTestOptions(values);
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(Operation.fromName(parts[0]), Integer.parseInt(parts[1]));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+
+public enum Operation {
+    SIGNUP("signup", "POST /users"),
+    CREATE_ITEM("create-item", "POST /items"),
+    SEARCH("search", "GET /items/search"),
+    CREATE_BOOKING("create-booking", "POST /bookings"),
+    APPROVE_BOOKING("approve-booking", "PATCH /bookings/{id}"),
+    LIST_BOOKINGS("list-bookings", "GET /bookings"),
+    LIST_OWNER_BOOKINGS("list-owner-bookings", "GET /bookings/owner");
+
+    private final String name;
+    private final String endpoint;
+
+    Operation(String name, String endpoint) {
+        this.name = name;
+        this.endpoint = endpoint;
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+
+    public static Operation fromName(String name) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation: " + name));
+    }
+}
@@ -0,0 +1,169 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Builds the next request of the traffic mix and feeds ids from successful responses back into the
+ * pools later requests draw from (users, items with their owners, bookings awaiting approval).
+ */
+public class Scenario {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final List<String> WORDS = List.of("drill", "ladder", "saw", "tent", "bike", "kayak",
+            "projector", "mixer", "camera", "tripod");
+
+    private final String gatewayUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Random random;
+    private final Operation[] wheel;
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Long> users = new CopyOnWriteArrayList<>();
+    private final List<OwnedItem> items = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedQueue<PendingBooking> pendingBookings = new ConcurrentLinkedQueue<>();
+
+    public Scenario(String gatewayUrl, Map<Operation, Integer> mix, long seed) {
+        this.gatewayUrl = gatewayUrl;
+        this.random = new Random(seed);
+        this.wheel = mix.entrySet().stream()
+                .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+                .toArray(Operation[]::new);
+    }
+
+    public Call next() {
+        Operation operation = wheel[random.nextInt(wheel.length)];
+        if (users.size() < 2 || items.isEmpty()) {
+            operation = users.size() < 2 ? Operation.SIGNUP : Operation.CREATE_ITEM;
+        }
+        return switch (operation) {
+            case SIGNUP -> signup();
+            case CREATE_ITEM -> createItem(randomUser());
+            case SEARCH -> new Call(operation, get("/items/search?text=" + word() + "&from=0&size=20", randomUser()),
+                    null);
+            case CREATE_BOOKING -> createBooking();
+            case APPROVE_BOOKING -> approveBooking();
+            case LIST_BOOKINGS -> new Call(operation, get("/bookings?state=ALL&from=0&size=20", randomUser()), null);
+            case LIST_OWNER_BOOKINGS -> new Call(operation,
+                    get("/bookings/owner?state=ALL&from=0&size=20", randomItem().ownerId()), null);
+        };
+    }
+
+    public Call signup() {
+        long n = sequence.incrementAndGet();
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("name", "Load user " + n)
+                .put("email", "load" + n + "-" + ThreadLocalRandom.current().nextInt(1_000_000) + "@example.com");
+        return new Call(Operation.SIGNUP, post("/users", body, null), response -> users.add(response.get("id").asLong()));
+    }
+
+    public Call createItem(long ownerId) {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("name", capitalize(word()) + " " + sequence.incrementAndGet())
+                .put("description", "A " + word() + " in good condition")
+                .put("available", true);
+        return new Call(Operation.CREATE_ITEM, post("/items", body, ownerId),
+                response -> items.add(new OwnedItem(response.get("id").asLong(), ownerId)));
+    }
+
+    public List<Long> users() {
+        return users;
+    }
+
+    private Call createBooking() {
+        OwnedItem item = randomItem();
+        long booker = randomUser();
+        if (booker == item.ownerId()) {
+            booker = users.get((users.indexOf(booker) + 1) % users.size());
+        }
+        LocalDateTime start = LocalDateTime.now().plusDays(1 + random.nextInt(300)).truncatedTo(ChronoUnit.SECONDS);
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("itemId", item.id())
+                .put("start", start.toString())
+                .put("end", start.plusDays(1 + random.nextInt(7)).toString());
+        return new Call(Operation.CREATE_BOOKING, post("/bookings", body, booker),
+                response -> pendingBookings.add(new PendingBooking(response.get("id").asLong(), item.ownerId())));
+    }
+
+    private Call approveBooking() {
+        PendingBooking booking = pendingBookings.poll();
+        if (booking == null) {
+            return createBooking();
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(gatewayUrl + "/bookings/" + booking.id() + "?approved=true"))
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .header(USER_HEADER, String.valueOf(booking.ownerId()))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        return new Call(Operation.APPROVE_BOOKING, request, null);
+    }
+
+    private HttpRequest get(String path, long userId) {
+        return HttpRequest.newBuilder(URI.create(gatewayUrl + path))
+                .header(USER_HEADER, String.valueOf(userId))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, JsonNode body, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(gatewayUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()));
+        if (userId != null) {
+            builder.header(USER_HEADER, String.valueOf(userId));
+        }
+        return builder.build();
+    }
+
+    private long randomUser() {
+        return users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+
+    private OwnedItem randomItem() {
+        return items.get(ThreadLocalRandom.current().nextInt(items.size()));
+    }
+
+    private String word() {
+        return WORDS.get(ThreadLocalRandom.current().nextInt(WORDS.size()));
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    public JsonNode parse(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * One request of the mix; onSuccess sees the parsed body of a 2xx response.
+     */
+    public record Call(Operation operation, HttpRequest request, Consumer<JsonNode> onSuccess) {
+    }
+
+    private record OwnedItem(long id, long ownerId) {
+    }
+
+    private record PendingBooking(long id, long ownerId) {
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the server (H2 test profile) and the gateway as child JVMs and waits until both report UP.
+ */
+@Slf4j
+public class ServiceLauncher implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<Process> processes = new ArrayList<>();
+
+    public void start(LoadTestOptions options) throws IOException, InterruptedException {
+        // Health only turns UP once the server's JIT warm-up (if on) has finished
+        launch(options.getServerJar(), "--spring.profiles.active=test",
+                "--shareit-server.warmup.enabled=" + options.isServerWarmup());
+        awaitHealthy(options.getServerHealthUrl());
+        // The gateway's per-user rate limits would throttle the generator rather than measure the system
+        launch(options.getGatewayJar(), "--shareit-gateway.rate-limit.enabled=false");
+        awaitHealthy(options.getGatewayUrl() + "/actuator/health");
+    }
+
+    private void launch(Path jar, String... args) throws IOException {
+        if (!Files.exists(jar)) {
+            throw new IllegalStateException(jar + " not found; build it with mvn package first");
+        }
+        List<String> command = new ArrayList<>(List.of("java", "-jar", jar.toString()));
+        command.addAll(List.of(args));
+        Path logFile = Path.of(jar.getFileName() + ".log");
+        log.info("Starting {} (output in {})", jar, logFile);
+        processes.add(new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start());
+    }
+
+    private void awaitHealthy(String url) throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(2)).build();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(url + " did not become healthy within " + STARTUP_TIMEOUT);
+    }
+
+    @Override
+    public void close() {
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            processes.get(i).destroy();
+        }
+    }
+}
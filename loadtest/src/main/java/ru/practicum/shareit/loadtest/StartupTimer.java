@@ -0,0 +1,99 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures time to first successful request: starts a service with the given command, polls a URL
+ * until it answers 2xx and repeats for a few runs. Compare a plain start with a fast-start one:
+ * <pre>
+ * --command="java -jar server/target/shareit-server-0.0.1-SNAPSHOT-exec.jar --spring.profiles.active=test"
+ * --command="java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar ... "
+ * </pre>
+ */
+@Slf4j
+public class StartupTimer {
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(5);
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = parse(args);
+        List<String> command = Arrays.asList(required(options, "command").trim().split("\\s+"));
+        URI url = URI.create(options.getOrDefault("url", "http://localhost:9090/users"));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        Duration timeout = Duration.parse("PT" + options.getOrDefault("timeout", "120s"));
+
+        List<Long> millis = new ArrayList<>(runs);
+        for (int run = 1; run <= runs; run++) {
+            long elapsed = timeFirstSuccess(command, url, timeout);
+            millis.add(elapsed);
+            log.info("Run {}: first successful request after {} ms", run, elapsed);
+        }
+        List<Long> sorted = millis.stream().sorted().toList();
+        log.info("Time to first successful request over {} runs: min {} ms, median {} ms, max {} ms",
+                runs, sorted.get(0), sorted.get(sorted.size() / 2), sorted.get(sorted.size() - 1));
+    }
+
+    private static long timeFirstSuccess(List<String> command, URI url, Duration timeout)
+            throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(5)).build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(Path.of("startup-timer.log").toFile())
+                .start();
+        try {
+            while (System.nanoTime() - start < timeout.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Process exited with " + process.exitValue()
+                            + "; see startup-timer.log");
+                }
+                try {
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status >= 200 && status < 300) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            throw new IllegalStateException(url + " did not answer 2xx within " + timeout);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return values;
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("--" + name + " is required");
+        }
+        return value;
+    }
+}
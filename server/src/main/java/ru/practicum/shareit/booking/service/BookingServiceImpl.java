@@ -40,7 +40,7 @@ public class BookingServiceImpl implements BookingService {
     public Booking create(BookingDto bookingDto, Long userId) {
         User booker = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User with " + userId + " Id is not found"));
-        Item item = itemRepository.findById(bookingDto.getItemId())
+        Item item = itemRepository.findForBookingById(bookingDto.getItemId())
                 .orElseThrow(() -> new NotFoundException("Item with " + bookingDto.getItemId() + " Id is not found"));
 
         if (Objects.equals(booker.getId(), item.getOwner().getId())) {
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.config;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Configuration
+@EnableConfigurationProperties(HttpCacheProperties.class)
+public class HttpCacheConfig {
+    private static final String[] CACHED_PATHS = {"/items/*", "/users/*"};
+    // Reads that return the same body to every caller; owner-specific ones such as GET /items
+    // or /items/{itemId}/suggestions must not be reused across users by a shared cache
+    private static final List<PathPattern> PUBLIC_READS = Stream.of("/items/{itemId}", "/items/search", "/users/{id}")
+            .map(PathPatternParser.defaultInstance::parse)
+            .toList();
+
+    // ETags let the gateway revalidate cached reads and get a bodiless 304 when nothing changed
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns(CACHED_PATHS);
+        registration.setName("etagFilter");
+        return registration;
+    }
+
+    // A short max-age lets the gateway answer repeated reads without a round trip at all;
+    // past it, entries are revalidated with the ETag as before
+    @Bean
+    public FilterRegistrationBean<Filter> cacheControlFilter(HttpCacheProperties properties) {
+        String cacheControl = properties.getMaxAge().isZero()
+                ? CacheControl.noCache().getHeaderValue()
+                : CacheControl.maxAge(properties.getMaxAge()).getHeaderValue();
+        Filter filter = (request, response, chain) -> {
+            HttpServletRequest httpRequest = (HttpServletRequest) request;
+            if (HttpMethod.GET.matches(httpRequest.getMethod()) && isPublicRead(httpRequest)) {
+                ((HttpServletResponse) response).setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            }
+            chain.doFilter(request, response);
+        };
+        FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns(CACHED_PATHS);
+        registration.setName("cacheControlFilter");
+        return registration;
+    }
+
+    private static boolean isPublicRead(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(
+                request.getRequestURI().substring(request.getContextPath().length()));
+        return PUBLIC_READS.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http-cache")
+public class HttpCacheProperties {
+    // How long the gateway may serve a cached read without revalidating it; zero means always revalidate
+    private Duration maxAge = Duration.ofSeconds(2);
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the hot read paths (booking lists, item search, item detail, JSON and Smile serialization)
+ * before the application reports ready, so the first real requests after a scale-out meet compiled
+ * code. Application runners finish before Boot flips readiness to ACCEPTING_TRAFFIC. The synthetic
+ * rows live in one transaction that is always rolled back. Enabled at runtime rather than by a
+ * condition so that AOT-processed (fast-start) builds can still switch it off.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(WarmupProperties.class)
+public class JitWarmup implements ApplicationRunner {
+    private static final List<String> STATES = List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING");
+    private static final int ITEMS = 10;
+
+    private final WarmupProperties properties;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingController bookingController;
+    private final ItemController itemController;
+    private final ObjectMapper objectMapper;
+    private final MappingJackson2SmileHttpMessageConverter smileConverter;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + properties.getMaxDuration().toNanos();
+        Integer iterations;
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            iterations = transaction.execute(status -> {
+                status.setRollbackOnly();
+                // Rows that are rolled back must not end up in the second-level cache
+                entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+                return exercise(seed(), deadline);
+            });
+        } catch (RuntimeException e) {
+            // A failed warm-up only costs latency, it must not keep the pod from becoming ready
+            log.warn("JIT warm-up aborted after {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), e);
+            return;
+        }
+        Duration took = Duration.ofNanos(System.nanoTime() - start);
+        meterRegistry.timer("shareit.warmup").record(took);
+        log.info("JIT warm-up: {} iterations in {} ms", iterations, took.toMillis());
+    }
+
+    private int exercise(Fixture fixture, long deadline) {
+        int iteration = 0;
+        while (iteration < properties.getIterations() && System.nanoTime() < deadline) {
+            // Start each round from an empty persistence context so entities are read and hydrated again
+            entityManager.flush();
+            entityManager.clear();
+            String state = STATES.get(iteration % STATES.size());
+            serialize(bookingController.getAllBookingsOfUserByState(fixture.booker().getId(), state, 0, 10));
+            serialize(bookingController.getAllBookingsOfUserItems(fixture.owner().getId(), state, 0, 10));
+            serialize(itemController.searchItems("warmup", 0, 10));
+            serialize(itemController.getById(fixture.itemIds().get(iteration % fixture.itemIds().size())));
+            iteration++;
+        }
+        return iteration;
+    }
+
+    private Fixture seed() {
+        String suffix = Long.toHexString(System.nanoTime());
+        User owner = userRepository.save(new User(null, "Warm-up owner", "warmup-owner-" + suffix + "@shareit.invalid"));
+        User booker = userRepository.save(new User(null, "Warm-up booker", "warmup-booker-" + suffix + "@shareit.invalid"));
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> itemIds = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = itemRepository.save(new Item(null, "Warmup drill " + i, "Warm-up item " + i, true, owner,
+                    null, null));
+            itemIds.add(item.getId());
+            bookingRepository.save(new Booking(null, now.minusDays(10), now.minusDays(9), item, booker, Status.APPROVED));
+            bookingRepository.save(new Booking(null, now.minusDays(1), now.plusDays(1), item, booker, Status.APPROVED));
+            bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2), item, booker, Status.WAITING));
+        }
+        return new Fixture(owner, booker, itemIds);
+    }
+
+    private void serialize(Object body) {
+        try {
+            objectMapper.writeValueAsBytes(body);
+            smileConverter.getObjectMapper().writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize warm-up response", e);
+        }
+    }
+
+    private record Fixture(User owner, User booker, List<Long> itemIds) {
+    }
+}
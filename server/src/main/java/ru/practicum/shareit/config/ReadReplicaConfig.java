@@ -0,0 +1,52 @@
+package ru.practicum.shareit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Active with shareit-server.replica.enabled=true (the replica profile). Read-only transactions,
+ * including Spring Data's own read methods called outside a service transaction, go to the
+ * replicas; writes, schema init and anything without a transaction stay on spring.datasource.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "shareit-server.replica", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+@Import(ReplicaDataSourceRegistrar.class)
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                          @Qualifier(ReplicaDataSourceRegistrar.QUALIFIER)
+                                                          ObjectProvider<DataSource> replicas) {
+        return new ReadReplicaRoutingDataSource(primary, replicas.orderedStream().toList());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaProperties replicaProperties) {
+        return new ReadYourWritesFilter(replicaProperties.getReadYourWrites());
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pins writing requests to the primary, and for a short while after, the reads of the same
+ * X-Sharer-User-Id too, so users see their own changes before the replicas catch up.
+ * The in-memory record only covers this instance; a write also sets a short-lived cookie with the
+ * deadline, which the gateway relays, so the next read is pinned whichever instance it reaches.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String PRIMARY_UNTIL_COOKIE = "shareit-primary-until";
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final Duration readYourWrites;
+    private final long stickyNanos;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesFilter(Duration readYourWrites) {
+        this.readYourWrites = readYourWrites;
+        this.stickyNanos = readYourWrites.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String userId = request.getHeader("X-Sharer-User-Id");
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        if (write || wroteRecently(userId) || pinnedByCookie(request)) {
+            ReadReplicaRoutingDataSource.pinToPrimary();
+        }
+        // Set before the body is written; a failed write only costs a few reads on the primary
+        if (write && stickyNanos > 0) {
+            response.addCookie(primaryUntilCookie());
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadReplicaRoutingDataSource.unpin();
+            if (write && userId != null && stickyNanos > 0) {
+                recordWrite(userId);
+            }
+        }
+    }
+
+    private boolean wroteRecently(String userId) {
+        if (userId == null || stickyNanos <= 0) {
+            return false;
+        }
+        Long writtenAt = lastWrites.get(userId);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - writtenAt < stickyNanos) {
+            return true;
+        }
+        lastWrites.remove(userId, writtenAt);
+        return false;
+    }
+
+    private boolean pinnedByCookie(HttpServletRequest request) {
+        if (stickyNanos <= 0 || request.getCookies() == null) {
+            return false;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (PRIMARY_UNTIL_COOKIE.equals(cookie.getName())) {
+                try {
+                    return System.currentTimeMillis() < Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Wall-clock deadline, since the next read may be served by another instance
+    private Cookie primaryUntilCookie() {
+        Cookie cookie = new Cookie(PRIMARY_UNTIL_COOKIE,
+                String.valueOf(System.currentTimeMillis() + readYourWrites.toMillis()));
+        cookie.setMaxAge((int) Math.max(1, readYourWrites.toSeconds()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        return cookie;
+    }
+
+    private void recordWrite(String userId) {
+        long now = System.nanoTime();
+        lastWrites.put(userId, now);
+        if (lastWrites.size() > PRUNE_THRESHOLD) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt >= stickyNanos);
+        }
+    }
+}
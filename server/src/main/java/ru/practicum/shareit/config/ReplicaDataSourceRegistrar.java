@@ -0,0 +1,71 @@
+package ru.practicum.shareit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotationMetadata;
+
+import java.util.List;
+
+/**
+ * Registers one Hikari pool bean per shareit-server.replica.instances entry, qualified "replica".
+ * As beans they get pool metrics, health checks, shutdown and the same post-processing as the
+ * primary pool, e.g. the connection limit on virtual threads.
+ */
+class ReplicaDataSourceRegistrar implements ImportBeanDefinitionRegistrar, EnvironmentAware, BeanFactoryAware {
+    static final String QUALIFIER = "replica";
+
+    private Environment environment;
+    private BeanFactory beanFactory;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void registerBeanDefinitions(AnnotationMetadata importingClassMetadata, BeanDefinitionRegistry registry) {
+        List<ReplicaProperties.Instance> instances = Binder.get(environment)
+                .bind("shareit-server.replica.instances", Bindable.listOf(ReplicaProperties.Instance.class))
+                .orElse(List.of());
+        for (int i = 0; i < instances.size(); i++) {
+            String poolName = "replica-" + i;
+            ReplicaProperties.Instance instance = instances.get(i);
+            RootBeanDefinition definition = new RootBeanDefinition(HikariDataSource.class,
+                    () -> replica(poolName, instance, beanFactory.getBean(DataSourceProperties.class)));
+            definition.addQualifier(new AutowireCandidateQualifier(Qualifier.class, QUALIFIER));
+            registry.registerBeanDefinition("replicaDataSource" + i, definition);
+        }
+    }
+
+    private static HikariDataSource replica(String name, ReplicaProperties.Instance instance,
+                                            DataSourceProperties primary) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(primary.determineDriverClassName())
+                .url(instance.getUrl())
+                .username(instance.getUsername() != null ? instance.getUsername() : primary.determineUsername())
+                .password(instance.getPassword() != null ? instance.getPassword() : primary.determinePassword())
+                .build();
+        replica.setMaximumPoolSize(instance.getMaximumPoolSize());
+        replica.setReadOnly(true);
+        replica.setPoolName(name);
+        return replica;
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.replica")
+public class ReplicaProperties {
+    private boolean enabled;
+    private List<Instance> instances = new ArrayList<>();
+    // How long a user's reads stay on the primary after their own write; 0 turns stickiness off
+    private Duration readYourWrites = Duration.ofSeconds(5);
+
+    @Getter
+    @Setter
+    public static class Instance {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
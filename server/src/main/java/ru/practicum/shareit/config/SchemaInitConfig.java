@@ -0,0 +1,87 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.DigestUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Replaces Boot's SQL initializer. With shareit-server.sql-init.skip-when-current=true (fast-start)
+ * it records a checksum of the schema scripts after running them and skips them on the next start
+ * while the checksum is unchanged.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlInitializationProperties.class)
+public class SchemaInitConfig {
+
+    @Bean
+    public SqlDataSourceScriptDatabaseInitializer dataSourceScriptDatabaseInitializer(
+            DataSource dataSource, SqlInitializationProperties properties,
+            @Value("${shareit-server.sql-init.skip-when-current:false}") boolean skipWhenCurrent) {
+        return skipWhenCurrent
+                ? new ChecksumSkippingInitializer(dataSource, properties)
+                : new SqlDataSourceScriptDatabaseInitializer(dataSource, properties);
+    }
+
+    @Slf4j
+    static class ChecksumSkippingInitializer extends SqlDataSourceScriptDatabaseInitializer {
+        private static final String CHECKSUM_TABLE = "shareit_schema_checksum";
+
+        private final JdbcTemplate jdbcTemplate;
+        private final List<String> schemaLocations;
+
+        ChecksumSkippingInitializer(DataSource dataSource, SqlInitializationProperties properties) {
+            super(dataSource, properties);
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            this.schemaLocations = properties.getSchemaLocations() != null
+                    ? properties.getSchemaLocations()
+                    : List.of("optional:classpath*:schema.sql");
+        }
+
+        @Override
+        public boolean initializeDatabase() {
+            String checksum = checksum();
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + CHECKSUM_TABLE + " (checksum VARCHAR(32) NOT NULL)");
+            List<String> applied = jdbcTemplate.queryForList("SELECT checksum FROM " + CHECKSUM_TABLE, String.class);
+            if (applied.contains(checksum)) {
+                log.info("Schema scripts unchanged (checksum {}), skipping SQL init", checksum);
+                return false;
+            }
+            boolean initialized = super.initializeDatabase();
+            // Only a run that actually applied the scripts may let the next start skip them
+            if (initialized) {
+                jdbcTemplate.update("DELETE FROM " + CHECKSUM_TABLE);
+                jdbcTemplate.update("INSERT INTO " + CHECKSUM_TABLE + " (checksum) VALUES (?)", checksum);
+            }
+            return initialized;
+        }
+
+        private String checksum() {
+            PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+            StringBuilder scripts = new StringBuilder();
+            try {
+                for (String location : schemaLocations) {
+                    for (Resource resource : resolver.getResources(location.replaceFirst("^optional:", ""))) {
+                        scripts.append(resource.getContentAsString(StandardCharsets.UTF_8));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read schema scripts", e);
+            }
+            return DigestUtils.md5DigestAsHex(scripts.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.OptionalLong;
+
+/**
+ * Backs Hibernate's second-level and query caches with Caffeine through JCache, one cache per
+ * region configured under shareit-server.second-level-cache.regions. Hit/miss counts per region
+ * are published as hibernate.second.level.cache.* metrics.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        properties.getRegions().forEach((name, region) -> createIfAbsent(cacheManager, name, region));
+        // Query results are only valid against these timestamps, so they must never be evicted early
+        createIfAbsent(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new SecondLevelCacheProperties.Region());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    // The provider's default manager is shared per class loader, e.g. by test contexts in one JVM
+    private static void createIfAbsent(CacheManager cacheManager, String name, SecondLevelCacheProperties.Region region) {
+        if (cacheManager.getCache(name) == null) {
+            cacheManager.createCache(name, configuration(region));
+        }
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuration(SecondLevelCacheProperties.Region region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (region.getMaximumSize() != null) {
+            configuration.setMaximumSize(OptionalLong.of(region.getMaximumSize()));
+        }
+        if (region.getExpireAfterWrite() != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(region.getExpireAfterWrite().toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
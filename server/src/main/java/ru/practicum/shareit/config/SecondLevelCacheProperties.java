@@ -0,0 +1,25 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.second-level-cache")
+public class SecondLevelCacheProperties {
+    // Region name (as in @Cache(region = ...) or Hibernate's default query regions) -> eviction settings
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Region {
+        // Unbounded when not set
+        private Long maximumSize;
+        private Duration expireAfterWrite;
+    }
+}
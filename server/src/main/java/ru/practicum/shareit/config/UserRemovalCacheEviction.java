@@ -0,0 +1,31 @@
+package ru.practicum.shareit.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PostRemove;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.ObjectProvider;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+/**
+ * Deleting a user cascades to their items and requests in the database (ON DELETE CASCADE), behind
+ * Hibernate's back, so the cached copies of those regions and all cached query results are dropped with it.
+ */
+public class UserRemovalCacheEviction {
+    // Looked up lazily: the listener is created while the EntityManagerFactory itself is being built
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public UserRemovalCacheEviction(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostRemove
+    public void evictCascadedRegions(Object user) {
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        if (factory != null) {
+            factory.getCache().evict(Item.class);
+            factory.getCache().evict(ItemRequest.class);
+            factory.getCache().unwrap(Cache.class).evictQueryRegions();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.warmup")
+public class WarmupProperties {
+    private boolean enabled;
+    // Rounds over the hot read paths; the warm-up stops at whichever limit comes first
+    private int iterations = 2000;
+    private Duration maxDuration = Duration.ofSeconds(30);
+}
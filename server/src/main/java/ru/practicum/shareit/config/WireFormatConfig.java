@@ -0,0 +1,20 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+public class WireFormatConfig {
+
+    // Binary Smile for the gateway hop (Accept: application/x-jackson-smile). Built from Boot's
+    // builder so dates and other settings match the JSON representation.
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.createXmlMapper(false)
+                .factory(new SmileFactory())
+                .build());
+    }
+}
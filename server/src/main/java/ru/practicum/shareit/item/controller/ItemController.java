@@ -10,6 +10,7 @@ import ru.practicum.shareit.item.dto.ItemWithBookingInfoDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
 
@@ -49,6 +50,13 @@ public class ItemController {
         return itemService.searchItems(text, from, size);
     }
 
+    @GetMapping("/{itemId}/suggestions")
+    public List<ItemRequestDto> getSuggestedRequests(@PathVariable Long itemId,
+                                                     @RequestHeader(USER_ID_HEADER) Long userId,
+                                                     @RequestParam(defaultValue = "10") Integer size) {
+        return itemService.findSuggestedRequests(itemId, userId, size);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto createComment(
             @RequestHeader("X-Sharer-User-Id") Long ownerId,
@@ -1,24 +1,41 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     List<Item> findByOwnerId(Long ownerId, Pageable pageable);
 
+    // Availability decides whether a booking is accepted, so it is read from the database and the
+    // cached copy refreshed, rather than trusting an entry another instance may have outdated
+    @EntityGraph(attributePaths = {"owner", "request"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
+    Optional<Item> findForBookingById(Long id);
+
     @Query(" SELECT i FROM Item i " +
             "WHERE UPPER(i.name) LIKE UPPER(concat('%', ?1, '%')) " +
             "OR UPPER(i.description) LIKE UPPER(concat('%', ?1, '%'))" +
             "AND i.available = TRUE")
     List<Item> searchAvailable(String text, Pageable pageable);
 
+    // Items answering a request rarely change; the query cache is invalidated on any items write
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Item> findAllByRequestId(Long requestId);
+
+    @EntityGraph(attributePaths = {"owner", "request"})
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
 }
 
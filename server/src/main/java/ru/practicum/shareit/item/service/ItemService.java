@@ -3,8 +3,11 @@ package ru.practicum.shareit.item.service;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingInfoDto;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface ItemService {
     ItemDto create(ItemDto dto, Long userId);
@@ -20,4 +23,8 @@ public interface ItemService {
     Comment createComment(Comment comment, Long itemId, Long userId);
 
     List<ItemDto> findAllByRequestId(Long requestId);
+
+    Map<Long, List<ItemDto>> findAllByRequestIds(Collection<Long> requestIds);
+
+    List<ItemRequestDto> findSuggestedRequests(Long itemId, Long userId, Integer size);
 }
@@ -18,8 +18,11 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.mapper.MapperRequestItem;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.RequestMatchIndex;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -37,6 +40,7 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final RequestMatchIndex requestMatchIndex;
 
 
     @Override
@@ -139,4 +143,37 @@ public class ItemServiceImpl implements ItemService {
                 .map(ItemMapper::toItemDto)
                 .collect(toList());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<ItemDto>> findAllByRequestIds(Collection<Long> requestIds) {
+        if (requestIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return itemRepository.findAllByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(Item::getRequestId,
+                        Collectors.mapping(ItemMapper::toItemDto, toList())));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemRequestDto> findSuggestedRequests(Long itemId, Long userId, Integer size) {
+        Item item = itemRepository.findById(itemId).orElseThrow(() -> new NotFoundException("Not found item"));
+        checkOwner(item, userId);
+        List<Long> requestIds = requestMatchIndex.match(item.getName() + " " + item.getDescription(), userId, size + 1)
+                .stream()
+                .filter(id -> !Objects.equals(id, item.getRequestId()))
+                .limit(size)
+                .toList();
+        if (requestIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, ItemRequest> requests = itemRequestRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, request -> request));
+        return requestIds.stream()
+                .map(requests::get)
+                .filter(Objects::nonNull)
+                .map(MapperRequestItem::toItemRequestDto)
+                .collect(toList());
+    }
 }
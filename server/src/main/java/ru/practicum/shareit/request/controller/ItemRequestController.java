@@ -1,12 +1,14 @@
 package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.MapperRequestItem;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.RequestService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 
@@ -31,6 +33,17 @@ public class ItemRequestController {
         return MapperRequestItem.toItemRequestDto(addedItemRequest);
     }
 
+    @GetMapping("/all")
+    public List<ItemRequestDto> getAllItemRequests(
+            @RequestHeader(USER_ID) Long userId,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime lastCreated,
+            @RequestParam(required = false) Long lastId
+    ) {
+        return requestService.getAllOfOtherUsers(userId, from, size, lastCreated, lastId);
+    }
+
     @GetMapping("/{requestId}")
     public ItemRequestDto getById(
             @RequestHeader(USER_ID) Long requestorId, @PathVariable Long requestId
@@ -1,11 +1,34 @@
 package ru.practicum.shareit.request.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ItemRequest> findByRequestorIdOrderByCreatedDesc(Long requestorId);
+
+    @Query("SELECT r FROM ItemRequest r JOIN FETCH r.requestor")
+    List<ItemRequest> findAllWithRequestor();
+
+    // Other users' requests, newest first (first page or offset fallback)
+    @Query("SELECT r FROM ItemRequest r JOIN FETCH r.requestor " +
+            "WHERE r.requestor.id <> ?1 " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequest> findOthers(Long userId, Pageable pageable);
+
+    // Seek page strictly after the (created, id) key of the last row already seen
+    @Query("SELECT r FROM ItemRequest r JOIN FETCH r.requestor " +
+            "WHERE r.requestor.id <> ?1 " +
+            "AND (r.created < ?2 OR (r.created = ?2 AND r.id < ?3)) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequest> findOthersBefore(Long userId, LocalDateTime created, Long id, Pageable pageable);
 }
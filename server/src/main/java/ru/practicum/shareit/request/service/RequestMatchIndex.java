@@ -0,0 +1,132 @@
+package ru.practicum.shareit.request.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory inverted index over item request descriptions.
+ * Item texts are matched against it to find requests an item could answer
+ * without scanning the item_requests table.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RequestMatchIndex {
+    private static final int MIN_TERM_LENGTH = 3;
+
+    private final ItemRequestRepository itemRequestRepository;
+
+    private final Object rebuildLock = new Object();
+    private volatile Snapshot snapshot = new Snapshot();
+    /** Requests added while a rebuild is loading, replayed into the new snapshot before it is published. */
+    private List<ItemRequest> addedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                addedDuringRebuild = new ArrayList<>();
+            }
+            // Readers and writers keep using the current snapshot until the fresh one is complete
+            Snapshot fresh = new Snapshot();
+            try {
+                itemRequestRepository.findAllWithRequestor().forEach(fresh::add);
+                synchronized (this) {
+                    addedDuringRebuild.forEach(fresh::add);
+                    snapshot = fresh;
+                }
+            } finally {
+                synchronized (this) {
+                    addedDuringRebuild = null;
+                }
+            }
+            log.info("Request match index built: {} requests, {} terms", fresh.requests.size(), fresh.postings.size());
+        }
+    }
+
+    public synchronized void add(ItemRequest request) {
+        snapshot.add(request);
+        if (addedDuringRebuild != null) {
+            addedDuringRebuild.add(request);
+        }
+    }
+
+    /**
+     * Returns ids of requests sharing terms with the text, best coverage of the request first.
+     * Requests made by {@code excludeRequestorId} are skipped.
+     */
+    public List<Long> match(String text, Long excludeRequestorId, int limit) {
+        Snapshot current = snapshot;
+        Map<Long, Integer> hits = new HashMap<>();
+        for (String term : tokenize(text)) {
+            Set<Long> ids = current.postings.get(term);
+            if (ids != null) {
+                ids.forEach(id -> hits.merge(id, 1, Integer::sum));
+            }
+        }
+        return hits.entrySet().stream()
+                .filter(e -> {
+                    IndexedRequest request = current.requests.get(e.getKey());
+                    return request != null && !Objects.equals(request.requestorId(), excludeRequestorId);
+                })
+                .sorted(Comparator.comparingDouble((Map.Entry<Long, Integer> e) -> -current.coverage(e))
+                        .thenComparing(Map.Entry::getKey, Comparator.reverseOrder()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public int size() {
+        return snapshot.requests.size();
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> terms = new HashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (token.length() >= MIN_TERM_LENGTH) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    private record IndexedRequest(Long requestorId, int termCount) {
+    }
+
+    private static final class Snapshot {
+        private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+        private final Map<Long, IndexedRequest> requests = new ConcurrentHashMap<>();
+
+        void add(ItemRequest request) {
+            Set<String> terms = tokenize(request.getDescription());
+            if (terms.isEmpty()) {
+                return;
+            }
+            requests.put(request.getId(), new IndexedRequest(request.getRequestor().getId(), terms.size()));
+            terms.forEach(term -> postings.computeIfAbsent(term, t -> ConcurrentHashMap.newKeySet()).add(request.getId()));
+        }
+
+        double coverage(Map.Entry<Long, Integer> hit) {
+            return (double) hit.getValue() / requests.get(hit.getKey()).termCount();
+        }
+    }
+}
@@ -4,6 +4,7 @@ package ru.practicum.shareit.request.service;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface RequestService {
@@ -12,4 +13,7 @@ public interface RequestService {
     ItemRequest add(ItemRequest itemRequest, Long requestorId);
 
     ItemRequestDto getById(Long requestId, Long requestorId);
+
+    List<ItemRequestDto> getAllOfOtherUsers(Long userId, Integer from, Integer size,
+                                            LocalDateTime lastCreated, Long lastId);
 }
@@ -1,9 +1,12 @@
 package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.MapperRequestItem;
@@ -14,6 +17,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +25,7 @@ public class RequestServiceImpl implements RequestService {
     private final UserRepository userRepository;
     private final ItemRequestRepository itemRequestRepository;
     private final ItemService itemService;
+    private final RequestMatchIndex requestMatchIndex;
 
     @Override
     public List<ItemRequest> getAllByUserId(Long id) {
@@ -34,7 +39,9 @@ public class RequestServiceImpl implements RequestService {
         User requestor = userRepository.findById(requestorId).orElseThrow(() -> new NotFoundException(""));
         itemRequest.setRequestor(requestor);
         itemRequest.setCreated(LocalDateTime.now());
-        return itemRequestRepository.save(itemRequest);
+        ItemRequest saved = itemRequestRepository.save(itemRequest);
+        requestMatchIndex.add(saved);
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -46,4 +53,30 @@ public class RequestServiceImpl implements RequestService {
         itemRequestDto.setItems(itemService.findAllByRequestId(itemRequestDto.getId()));
         return itemRequestDto;
     }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<ItemRequestDto> getAllOfOtherUsers(Long userId, Integer from, Integer size,
+                                                   LocalDateTime lastCreated, Long lastId) {
+        if (from < 0 || size <= 0) {
+            throw new ValidationException("Invalid paging parameters: from = " + from + ", size = " + size);
+        }
+        userRepository.findById(userId).orElseThrow(() -> new NotFoundException(""));
+
+        // Keyset page when the client passes the last seen (created, id), offset page otherwise
+        List<ItemRequest> requests;
+        if (lastCreated != null && lastId != null) {
+            requests = itemRequestRepository.findOthersBefore(userId, lastCreated, lastId, PageRequest.of(0, size));
+        } else {
+            requests = itemRequestRepository.findOthers(userId, PageRequest.of(from / size, size));
+        }
+
+        List<ItemRequestDto> result = requests.stream()
+                .map(MapperRequestItem::toItemRequestDto)
+                .toList();
+        Map<Long, List<ItemDto>> itemsByRequest = itemService.findAllByRequestIds(
+                result.stream().map(ItemRequestDto::getId).toList());
+        result.forEach(dto -> dto.setItems(itemsByRequest.getOrDefault(dto.getId(), List.of())));
+        return result;
+    }
 }
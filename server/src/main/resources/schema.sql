@@ -48,4 +48,8 @@ CREATE TABLE IF NOT EXISTS comments
     CONSTRAINT pk_comments PRIMARY KEY (id),
     CONSTRAINT fk_item_id_comments FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
     CONSTRAINT fk_author_id_comments FOREIGN KEY (author_id) REFERENCES users (id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_requests_created_id ON item_requests (created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id);
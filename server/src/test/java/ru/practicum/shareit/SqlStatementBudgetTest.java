@@ -0,0 +1,276 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.RequestMatchIndex;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Map.entry;
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Puts a ceiling on the SQL statements each server endpoint issues for the fixture below, so a new
+ * per-row query (N+1) fails the build instead of showing up in production. Budgets that are higher
+ * than the ideal reflect eager to-one loads still resolved one select per distinct row; lower them
+ * when those paths are fixed. The second-level and query caches are off here: a warm cache would
+ * hide exactly the per-row selects this test is meant to catch.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SqlStatementBudgetTest {
+    private static final String USER_ID = "X-Sharer-User-Id";
+
+    // "METHOD pattern" of every server endpoint -> max statements per request
+    private static final Map<String, Integer> BUDGETS = Map.ofEntries(
+            entry("GET /users", 1),
+            entry("GET /users/{id}", 1),
+            // email uniqueness is checked against every user; UserMapper turns a missing id into 0,
+            // so save() merges and looks that id up before inserting
+            entry("POST /users", 3),
+            entry("PATCH /users/{id}", 4),
+            entry("DELETE /users/{id}", 2),
+            entry("POST /items", 3),
+            entry("PATCH /items/{itemId}", 3),
+            entry("GET /items/{itemId}", 3),
+            // scans all items, then one select per distinct owner and request
+            entry("GET /items", 4),
+            entry("GET /items/search", 3),
+            entry("GET /items/{itemId}/suggestions", 4),
+            entry("POST /items/{itemId}/comment", 4),
+            entry("GET /requests", 2),
+            entry("POST /requests", 2),
+            entry("GET /requests/all", 3),
+            // findAllByRequestId loads item owners one by one
+            entry("GET /requests/{requestId}", 4),
+            entry("POST /bookings", 3),
+            entry("PATCH /bookings/{bookingId}", 3),
+            entry("GET /bookings/{bookingId}", 2),
+            // one select per distinct item on the page
+            entry("GET /bookings", 7),
+            entry("GET /bookings/owner", 5)
+    );
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    StatementCountingDataSource dataSource;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    RequestMappingHandlerMapping handlerMapping;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    RequestMatchIndex requestMatchIndex;
+
+    User owner;
+    User booker;
+    User other;
+    ItemRequest bookerRequest;
+    List<Item> items;
+    Booking currentBooking;
+
+    @TestConfiguration
+    static class CountingConfig {
+        @Bean
+        static BeanPostProcessor statementCountingPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                        return new StatementCountingDataSource(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    // Five items of one owner, all booked by the same user, so per-row loads show up as five extra selects
+    @BeforeAll
+    void setUpFixture() {
+        LocalDateTime now = LocalDateTime.now();
+        owner = userRepository.save(new User(null, "owner", "owner@budget.test"));
+        booker = userRepository.save(new User(null, "booker", "booker@budget.test"));
+        other = userRepository.save(new User(null, "other", "other@budget.test"));
+        bookerRequest = itemRequestRepository.save(new ItemRequest(null, "Need a drill", booker, now.minusDays(3)));
+        itemRequestRepository.save(new ItemRequest(null, "Looking for a cordless drill", other, now.minusDays(2)));
+        requestMatchIndex.rebuild();
+
+        items = itemRepository.saveAll(List.of(
+                new Item(null, "Drill", "Hammer drill", true, owner, null, bookerRequest),
+                new Item(null, "Cordless drill", "Compact cordless drill", true, owner, null, null),
+                new Item(null, "Ladder", "Folding ladder", true, owner, null, null),
+                new Item(null, "Saw", "Circular saw", true, owner, null, null),
+                new Item(null, "Tent", "Four person tent", true, owner, null, null)));
+
+        bookingRepository.save(new Booking(null, now.minusDays(10), now.minusDays(5), items.get(0), booker, Status.APPROVED));
+        currentBooking = bookingRepository.save(
+                new Booking(null, now.minusDays(1), now.plusDays(1), items.get(1), booker, Status.APPROVED));
+        for (Item item : items.subList(2, 5)) {
+            bookingRepository.save(new Booking(null, now.plusDays(2), now.plusDays(4), item, booker, Status.WAITING));
+        }
+        commentRepository.save(new Comment(null, "Worked fine", items.get(0), booker, now.minusDays(4)));
+    }
+
+    @Test
+    void budgets_coverEveryServerEndpoint() {
+        Set<String> endpoints = new HashSet<>();
+        handlerMapping.getHandlerMethods().forEach((info, handler) -> {
+            if (handler.getBeanType().getPackageName().startsWith("ru.practicum.shareit")) {
+                info.getMethodsCondition().getMethods().forEach(method ->
+                        info.getPatternValues().forEach(pattern -> endpoints.add(method.name() + " " + pattern)));
+            }
+        });
+
+        assertThat(BUDGETS.keySet()).containsExactlyInAnyOrderElementsOf(endpoints);
+    }
+
+    @Test
+    void userEndpoints_stayWithinBudget() throws Exception {
+        User patched = userRepository.save(new User(null, "patched", "patched@budget.test"));
+        User deleted = userRepository.save(new User(null, "deleted", "deleted@budget.test"));
+
+        assertWithinBudget("GET /users", get("/users"));
+        assertWithinBudget("GET /users/{id}", get("/users/{id}", owner.getId()));
+        assertWithinBudget("POST /users", post("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("name", "new", "email", "new@budget.test"))));
+        assertWithinBudget("PATCH /users/{id}", patch("/users/{id}", patched.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("name", "renamed", "email", "renamed@budget.test"))));
+        assertWithinBudget("DELETE /users/{id}", delete("/users/{id}", deleted.getId()));
+    }
+
+    @Test
+    void itemEndpoints_stayWithinBudget() throws Exception {
+        Long itemId = items.get(1).getId();
+
+        assertWithinBudget("POST /items", post("/items")
+                .header(USER_ID, owner.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("name", "Drill bits", "description", "Set of drill bits", "available", true,
+                        "requestId", bookerRequest.getId()))));
+        assertWithinBudget("PATCH /items/{itemId}", patch("/items/{itemId}", items.get(4).getId())
+                .header(USER_ID, owner.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("description", "Four person camping tent"))));
+        assertWithinBudget("GET /items/{itemId}", get("/items/{itemId}", items.get(0).getId()));
+        assertWithinBudget("GET /items", get("/items").header(USER_ID, owner.getId()));
+        assertWithinBudget("GET /items/search", get("/items/search").param("text", "drill"));
+        assertWithinBudget("GET /items/{itemId}/suggestions", get("/items/{itemId}/suggestions", itemId)
+                .header(USER_ID, owner.getId()));
+        assertWithinBudget("POST /items/{itemId}/comment", post("/items/{itemId}/comment", items.get(0).getId())
+                .header(USER_ID, booker.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("text", "Still works"))));
+    }
+
+    @Test
+    void requestEndpoints_stayWithinBudget() throws Exception {
+        assertWithinBudget("GET /requests", get("/requests").header(USER_ID, booker.getId()));
+        assertWithinBudget("POST /requests", post("/requests")
+                .header(USER_ID, other.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("description", "Need a wheelbarrow"))));
+        assertWithinBudget("GET /requests/all", get("/requests/all").header(USER_ID, owner.getId()));
+        assertWithinBudget("GET /requests/{requestId}", get("/requests/{requestId}", bookerRequest.getId())
+                .header(USER_ID, booker.getId()));
+    }
+
+    @Test
+    void bookingEndpoints_stayWithinBudget() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        Booking waiting = bookingRepository.save(
+                new Booking(null, now.plusDays(5), now.plusDays(6), items.get(2), booker, Status.WAITING));
+
+        assertWithinBudget("POST /bookings", post("/bookings")
+                .header(USER_ID, booker.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("itemId", items.get(3).getId(),
+                        "start", now.plusDays(7).toString(), "end", now.plusDays(8).toString()))));
+        assertWithinBudget("PATCH /bookings/{bookingId}", patch("/bookings/{bookingId}", waiting.getId())
+                .header(USER_ID, owner.getId())
+                .param("approved", "true"));
+        assertWithinBudget("GET /bookings/{bookingId}", get("/bookings/{bookingId}", currentBooking.getId())
+                .header(USER_ID, booker.getId()));
+        assertWithinBudget("GET /bookings", get("/bookings").header(USER_ID, booker.getId()));
+        assertWithinBudget("GET /bookings/owner", get("/bookings/owner").header(USER_ID, owner.getId()));
+    }
+
+    private void assertWithinBudget(String endpoint, MockHttpServletRequestBuilder request) throws Exception {
+        Integer budget = BUDGETS.get(endpoint);
+        assertThat(budget).as("budget for %s", endpoint).isNotNull();
+
+        dataSource.reset();
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        List<String> executed = dataSource.getExecuted();
+
+        assertThat(executed)
+                .as("%s issued %d statements, budget is %d:%n%s", endpoint, executed.size(), budget,
+                        String.join(System.lineSeparator(), executed))
+                .hasSizeLessThanOrEqualTo(budget);
+    }
+
+    private String json(Map<String, Object> body) throws Exception {
+        return objectMapper.writeValueAsString(body);
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records every statement executed through the pool so tests can put a ceiling on the number of
+ * queries an HTTP request issues. Statements are recorded when executed, not when prepared.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+    private final List<String> executed = new ArrayList<>();
+
+    public StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    public synchronized void reset() {
+        executed.clear();
+    }
+
+    public synchronized List<String> getExecuted() {
+        return List.copyOf(executed);
+    }
+
+    private synchronized void record(String sql) {
+        executed.add(sql);
+    }
+
+    private Connection counting(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, result) -> {
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, statement, executing((String) args[0]));
+            }
+            if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, statement, executing((String) args[0]));
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, statement, executing(null));
+            }
+            return result;
+        });
+    }
+
+    // Plain statements carry their SQL in the execute call, prepared ones got it when prepared
+    private Interception executing(String preparedSql) {
+        return (method, args, result) -> {
+            if (method.getName().startsWith("execute")) {
+                record(args != null && args.length > 0 && args[0] instanceof String sql ? sql : preparedSql);
+            }
+            return result;
+        };
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Interception interception) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    try {
+                        return interception.after(method, args, method.invoke(target, args));
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }));
+    }
+
+    @FunctionalInterface
+    private interface Interception {
+        Object after(Method method, Object[] args, Object result);
+    }
+}
@@ -85,7 +85,7 @@ class BookingServiceImplTest {
     @Test
     void create_whenValid_thenReturnsBooking() {
         when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemRepository.findForBookingById(item.getId())).thenReturn(Optional.of(item));
         when(bookingRepository.save(any())).thenReturn(booking);
 
         Booking created = bookingService.create(bookingDto, booker.getId());
@@ -96,7 +96,7 @@ class BookingServiceImplTest {
         assertThat(created.getStatus()).isEqualTo(Status.WAITING);
 
         verify(userRepository).findById(booker.getId());
-        verify(itemRepository).findById(item.getId());
+        verify(itemRepository).findForBookingById(item.getId());
         verify(bookingRepository).save(any());
     }
 
@@ -104,14 +104,14 @@ class BookingServiceImplTest {
     void create_whenBookerIsOwner_thenThrowNotFound() {
         bookingDto.setItemId(item.getId());
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemRepository.findForBookingById(item.getId())).thenReturn(Optional.of(item));
 
         assertThatThrownBy(() -> bookingService.create(bookingDto, owner.getId()))
                 .isInstanceOf(NotFoundException.class)
                 .hasMessageContaining("Booker is equals owner");
 
         verify(userRepository).findById(owner.getId());
-        verify(itemRepository).findById(item.getId());
+        verify(itemRepository).findForBookingById(item.getId());
         verify(bookingRepository, never()).save(any());
     }
 
@@ -119,14 +119,14 @@ class BookingServiceImplTest {
     void create_whenItemNotAvailable_thenThrowValidation() {
         item.setAvailable(false);
         when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemRepository.findForBookingById(item.getId())).thenReturn(Optional.of(item));
 
         assertThatThrownBy(() -> bookingService.create(bookingDto, booker.getId()))
                 .isInstanceOf(ValidationException.class)
                 .hasMessageContaining("not available");
 
         verify(userRepository).findById(booker.getId());
-        verify(itemRepository).findById(item.getId());
+        verify(itemRepository).findForBookingById(item.getId());
         verify(bookingRepository, never()).save(any());
     }
 
@@ -136,7 +136,7 @@ class BookingServiceImplTest {
         bookingDto.setStart(LocalDateTime.now().plusDays(3));
         bookingDto.setEnd(LocalDateTime.now().plusDays(2));
         when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemRepository.findForBookingById(item.getId())).thenReturn(Optional.of(item));
 
         assertThatThrownBy(() -> bookingService.create(bookingDto, booker.getId()))
                 .isInstanceOf(ValidationException.class)
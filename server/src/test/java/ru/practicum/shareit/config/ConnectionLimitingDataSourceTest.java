@@ -0,0 +1,65 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionLimitingDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ConnectionLimitingDataSource(target, 1, Duration.ofMillis(50));
+    }
+
+    @Test
+    void getConnection_whenLimitReached_thenTimesOut() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+
+        dataSource.getConnection();
+
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class);
+        verify(target, times(1)).getConnection();
+    }
+
+    @Test
+    void getConnection_whenClosedTwice_thenReleasesOnePermit() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void getConnection_whenTargetFails_thenReleasesPermit() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("down"));
+
+        assertThatThrownBy(() -> dataSource.getConnection()).isInstanceOf(SQLException.class);
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.config;
+
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.*;
+
+class HttpCacheConfigTest {
+
+    private Filter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new HttpCacheConfig().cacheControlFilter(new HttpCacheProperties()).getFilter();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/items/5", "/items/search", "/users/3"})
+    void cacheControl_whenPublicRead_thenGrantsMaxAge(String path) throws Exception {
+        MockHttpServletResponse response = get(path);
+
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=2");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/items", "/items/5/suggestions", "/users"})
+    void cacheControl_whenCallerSpecificRead_thenSetsNothing(String path) throws Exception {
+        MockHttpServletResponse response = get(path);
+
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isNull();
+    }
+
+    private MockHttpServletResponse get(String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", path), response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource firstReplica;
+
+    @Mock
+    private DataSource secondReplica;
+
+    @Mock
+    private Connection connection;
+
+    private ReadReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ReadReplicaRoutingDataSource(primary, List.of(firstReplica, secondReplica));
+        dataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadReplicaRoutingDataSource.unpin();
+    }
+
+    @Test
+    void getConnection_whenNotReadOnly_thenUsesPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(connection);
+
+        assertThat(dataSource.getConnection()).isSameAs(connection);
+        verifyNoInteractions(firstReplica, secondReplica);
+    }
+
+    @Test
+    void getConnection_whenReadOnly_thenAlternatesReplicas() throws SQLException {
+        when(firstReplica.getConnection()).thenReturn(connection);
+        when(secondReplica.getConnection()).thenReturn(connection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        dataSource.getConnection();
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        verify(firstReplica, times(2)).getConnection();
+        verify(secondReplica, times(1)).getConnection();
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void getConnection_whenPinnedToPrimary_thenReadOnlyUsesPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(connection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReadReplicaRoutingDataSource.pinToPrimary();
+
+        dataSource.getConnection();
+
+        verify(primary).getConnection();
+        verifyNoInteractions(firstReplica, secondReplica);
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,13 +11,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.config.WireFormatConfig;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingInfoDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -25,10 +29,12 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @WebMvcTest(ItemController.class)
+@Import(WireFormatConfig.class)
 class ItemControllerTest {
 
     @Autowired
@@ -148,5 +154,43 @@ class ItemControllerTest {
         assertEquals(1, items.size());
         verify(itemService).searchItems("item", 0, 10);
     }
-}
 
+    @Test
+    void getSuggestedRequests_whenCalled_thenReturnsList() throws Exception {
+        ItemRequestDto requestDto = ItemRequestDto.builder()
+                .id(5L)
+                .description("Need an item")
+                .items(List.of())
+                .build();
+        when(itemService.findSuggestedRequests(itemId, userId, 5)).thenReturn(List.of(requestDto));
+
+        String result = mockMvc.perform(get("/items/{itemId}/suggestions", itemId)
+                        .header("X-Sharer-User-Id", userId)
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<ItemRequestDto> requests = objectMapper.readValue(result,
+                objectMapper.getTypeFactory().constructCollectionType(List.class, ItemRequestDto.class));
+
+        assertEquals(1, requests.size());
+        assertEquals(requestDto.getId(), requests.get(0).getId());
+        verify(itemService).findSuggestedRequests(itemId, userId, 5);
+    }
+
+    @Test
+    void getById_whenSmileAccepted_thenReturnsSmileBody() throws Exception {
+        MediaType smile = MediaType.valueOf("application/x-jackson-smile");
+        when(itemService.getById(itemId)).thenReturn(itemWithBookingInfoDto);
+
+        byte[] result = mockMvc.perform(get("/items/{itemId}", itemId)
+                        .accept(smile, MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ItemWithBookingInfoDto actual = new ObjectMapper(new SmileFactory())
+                .readValue(result, ItemWithBookingInfoDto.class);
+        assertEquals(itemWithBookingInfoDto.getName(), actual.getName());
+    }
+}
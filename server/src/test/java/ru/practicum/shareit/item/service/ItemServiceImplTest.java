@@ -20,11 +20,14 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.RequestMatchIndex;
 
 import java.time.LocalDateTime;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -49,6 +52,9 @@ class ItemServiceImplTest {
     @Mock
     private ItemRequestRepository itemRequestRepository;
 
+    @Mock
+    private RequestMatchIndex requestMatchIndex;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -161,5 +167,31 @@ class ItemServiceImplTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Bad request");
     }
-}
 
+    @Test
+    void findSuggestedRequests_whenMatchesFound_thenSkipsAnsweredRequest() {
+        User requestor = new User(3L, "Requestor", "requestor@example.com");
+        ItemRequest other = new ItemRequest(5L, "Need item name", requestor, LocalDateTime.now());
+        item.setRequestId(itemRequest.getId());
+
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(requestMatchIndex.match(anyString(), eq(owner.getId()), eq(3)))
+                .thenReturn(List.of(itemRequest.getId(), other.getId()));
+        when(itemRequestRepository.findAllById(List.of(other.getId()))).thenReturn(List.of(other));
+
+        List<ItemRequestDto> result = itemService.findSuggestedRequests(item.getId(), owner.getId(), 2);
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getId()).isEqualTo(other.getId());
+        assertThat(result.get(0).getRequesterId()).isEqualTo(requestor.getId());
+    }
+
+    @Test
+    void findSuggestedRequests_whenNotOwner_thenThrow() {
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+
+        assertThatThrownBy(() -> itemService.findSuggestedRequests(item.getId(), 999L, 10))
+                .isInstanceOf(NotFoundException.class);
+        verify(requestMatchIndex, never()).match(anyString(), anyLong(), anyInt());
+    }
+}
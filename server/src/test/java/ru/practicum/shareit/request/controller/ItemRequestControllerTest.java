@@ -90,5 +90,24 @@ class ItemRequestControllerTest {
 
         verify(requestService).getById(requestId, userId);
     }
-}
 
+    @Test
+    void getAllItemRequests_shouldPassPagingAndCursor() throws Exception {
+        LocalDateTime lastCreated = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(requestService.getAllOfOtherUsers(userId, 0, 5, lastCreated, 7L)).thenReturn(List.of(requestDto));
+
+        String result = mockMvc.perform(get("/requests/all")
+                        .header(USER_ID_HEADER, userId)
+                        .param("size", "5")
+                        .param("lastCreated", "2024-01-01T12:00:00")
+                        .param("lastId", "7"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        ItemRequestDto[] requests = objectMapper.readValue(result, ItemRequestDto[].class);
+        assertEquals(1, requests.length);
+        assertEquals(requestDto.getId(), requests[0].getId());
+
+        verify(requestService).getAllOfOtherUsers(userId, 0, 5, lastCreated, 7L);
+    }
+}
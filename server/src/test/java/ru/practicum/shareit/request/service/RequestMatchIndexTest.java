@@ -0,0 +1,96 @@
+package ru.practicum.shareit.request.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RequestMatchIndexTest {
+
+    @Mock
+    private ItemRequestRepository itemRequestRepository;
+
+    @InjectMocks
+    private RequestMatchIndex index;
+
+    private User requestor;
+
+    @BeforeEach
+    void setUp() {
+        requestor = new User(1L, "Requestor", "requestor@example.com");
+    }
+
+    @Test
+    void match_whenTermsShared_thenRanksByCoverage() {
+        index.add(new ItemRequest(1L, "Need a cordless drill", requestor, LocalDateTime.now()));
+        index.add(new ItemRequest(2L, "Looking for a drill, ladder and hammer", requestor, LocalDateTime.now()));
+        index.add(new ItemRequest(3L, "Tent for camping", requestor, LocalDateTime.now()));
+
+        List<Long> result = index.match("Cordless DRILL with battery", 99L, 10);
+
+        assertThat(result).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void match_whenRequestorIsExcluded_thenSkipsOwnRequests() {
+        index.add(new ItemRequest(1L, "Need a drill", requestor, LocalDateTime.now()));
+
+        assertThat(index.match("drill", requestor.getId(), 10)).isEmpty();
+    }
+
+    @Test
+    void rebuild_thenIndexesStoredRequests() {
+        when(itemRequestRepository.findAllWithRequestor())
+                .thenReturn(List.of(new ItemRequest(7L, "Складная лестница", requestor, LocalDateTime.now())));
+
+        index.rebuild();
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.match("лестница стремянка", 99L, 10)).containsExactly(7L);
+    }
+
+    @Test
+    void rebuild_thenDropsRequestsNoLongerStored() {
+        index.add(new ItemRequest(1L, "Need a drill", requestor, LocalDateTime.now()));
+        when(itemRequestRepository.findAllWithRequestor()).thenReturn(List.of());
+
+        index.rebuild();
+
+        assertThat(index.size()).isZero();
+        assertThat(index.match("drill", 99L, 10)).isEmpty();
+    }
+
+    @Test
+    void rebuild_whenRequestAddedWhileLoading_thenKeepsIt() {
+        when(itemRequestRepository.findAllWithRequestor()).thenAnswer(invocation -> {
+            index.add(new ItemRequest(2L, "Camping tent", requestor, LocalDateTime.now()));
+            assertThat(index.match("tent", 99L, 10)).containsExactly(2L);
+            return List.of(new ItemRequest(1L, "Need a drill", requestor, LocalDateTime.now()));
+        });
+
+        index.rebuild();
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.match("tent drill", 99L, 10)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void tokenize_thenDropsShortTermsAndPunctuation() {
+        assertThat(RequestMatchIndex.tokenize("A big, red-box!")).containsExactlyInAnyOrder("big", "red", "box");
+        assertThat(RequestMatchIndex.tokenize(null)).isEmpty();
+    }
+}
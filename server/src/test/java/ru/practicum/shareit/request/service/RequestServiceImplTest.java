@@ -8,7 +8,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
@@ -21,6 +23,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -39,6 +42,9 @@ class RequestServiceImplTest {
     @Mock
     private ItemService itemService;
 
+    @Mock
+    private RequestMatchIndex requestMatchIndex;
+
     @InjectMocks
     private RequestServiceImpl requestService;
 
@@ -105,6 +111,7 @@ class RequestServiceImplTest {
 
         verify(userRepository).findById(user.getId());
         verify(itemRequestRepository).save(any(ItemRequest.class));
+        verify(requestMatchIndex).add(savedRequest);
     }
 
     @Test
@@ -164,4 +171,48 @@ class RequestServiceImplTest {
         verify(itemRequestRepository).findById(999L);
         verify(itemService, never()).findAllByRequestId(anyLong());
     }
+
+    @Test
+    void getAllOfOtherUsers_whenNoCursor_thenUsesOffsetPageAndBatchLoadsItems() {
+        User requestor = new User(2L, "Other", "other@example.com");
+        itemRequest.setRequestor(requestor);
+        ItemDto itemDto = new ItemDto();
+        itemDto.setId(100L);
+
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(itemRequestRepository.findOthers(user.getId(), PageRequest.of(1, 10))).thenReturn(List.of(itemRequest));
+        when(itemService.findAllByRequestIds(List.of(itemRequest.getId())))
+                .thenReturn(Map.of(itemRequest.getId(), List.of(itemDto)));
+
+        List<ItemRequestDto> result = requestService.getAllOfOtherUsers(user.getId(), 10, 10, null, null);
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getRequesterId()).isEqualTo(requestor.getId());
+        assertThat(result.get(0).getItems()).containsExactly(itemDto);
+        verify(itemRequestRepository, never()).findOthersBefore(anyLong(), any(), anyLong(), any());
+        verify(itemService, never()).findAllByRequestId(anyLong());
+    }
+
+    @Test
+    void getAllOfOtherUsers_whenCursorGiven_thenUsesSeekPage() {
+        LocalDateTime lastCreated = LocalDateTime.now();
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(itemRequestRepository.findOthersBefore(user.getId(), lastCreated, 5L, PageRequest.of(0, 10)))
+                .thenReturn(List.of(itemRequest));
+        when(itemService.findAllByRequestIds(List.of(itemRequest.getId()))).thenReturn(Map.of());
+
+        List<ItemRequestDto> result = requestService.getAllOfOtherUsers(user.getId(), 20, 10, lastCreated, 5L);
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getItems()).isEmpty();
+        verify(itemRequestRepository, never()).findOthers(anyLong(), any());
+    }
+
+    @Test
+    void getAllOfOtherUsers_whenInvalidPaging_thenThrowValidation() {
+        assertThatThrownBy(() -> requestService.getAllOfOtherUsers(user.getId(), 0, 0, null, null))
+                .isInstanceOf(ValidationException.class);
+
+        verify(itemRequestRepository, never()).findOthers(anyLong(), any());
+    }
 }